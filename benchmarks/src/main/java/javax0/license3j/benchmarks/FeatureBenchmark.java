@@ -0,0 +1,114 @@
+package javax0.license3j.benchmarks;
+
+import javax0.license3j.Feature;
+import javax0.license3j.License;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The typed getters of the features. The features are either created by the factory methods ({@code owned}), or they
+ * are views into the serialized license ({@code view}, see {@link License.Create#from(ByteBuffer)}).
+ * <p>
+ * Run with {@code -prof gc}: the getters of the primitive types are expected to allocate nothing, the
+ * {@code gc.alloc.rate.norm} of {@link #getInt()} has to stay at zero {@code B/op}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureBenchmark {
+
+    @Param({"owned", "view"})
+    public String source;
+
+    private Feature intFeature;
+    private Feature longFeature;
+    private Feature doubleFeature;
+    private Feature stringFeature;
+    private Feature dateFeature;
+    private Feature uuidFeature;
+    private Feature bigIntegerFeature;
+    private Feature bigDecimalFeature;
+    private Feature binaryFeature;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final var typical = Licenses.typical();
+        final License license = "view".equals(source)
+                ? License.Create.from(ByteBuffer.wrap(typical.serialized()))
+                : typical;
+        intFeature = license.get("maxUsers");
+        longFeature = license.get("maxMemory");
+        doubleFeature = license.get("rate");
+        stringFeature = license.get("owner");
+        dateFeature = license.get("expiryDate");
+        uuidFeature = license.get("machine");
+        bigIntegerFeature = license.get("serial");
+        bigDecimalFeature = license.get("price");
+        binaryFeature = license.get("payload");
+    }
+
+    @Benchmark
+    public int getInt() {
+        return intFeature.getInt();
+    }
+
+    @Benchmark
+    public long getLong() {
+        return longFeature.getLong();
+    }
+
+    @Benchmark
+    public double getDouble() {
+        return doubleFeature.getDouble();
+    }
+
+    @Benchmark
+    public String getString() {
+        return stringFeature.getString();
+    }
+
+    @Benchmark
+    public Date getDate() {
+        return dateFeature.getDate();
+    }
+
+    @Benchmark
+    public UUID getUUID() {
+        return uuidFeature.getUUID();
+    }
+
+    @Benchmark
+    public BigInteger getBigInteger() {
+        return bigIntegerFeature.getBigInteger();
+    }
+
+    @Benchmark
+    public BigDecimal getBigDecimal() {
+        return bigDecimalFeature.getBigDecimal();
+    }
+
+    @Benchmark
+    public byte[] getBinary() {
+        return binaryFeature.getBinary();
+    }
+}
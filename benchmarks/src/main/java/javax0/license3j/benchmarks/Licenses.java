@@ -0,0 +1,40 @@
+package javax0.license3j.benchmarks;
+
+import javax0.license3j.Feature;
+import javax0.license3j.License;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * The license instances the benchmarks work on. The license has one feature of each type and a multi-line string, the
+ * way a typical real license looks like.
+ */
+final class Licenses {
+    private Licenses() {
+    }
+
+    static License typical() {
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("owner", "Peter Verhas"));
+        license.add(Feature.Create.stringFeature("email", "peter@verhas.com"));
+        license.add(Feature.Create.stringFeature("description", "A license used in the benchmarks,\n"
+                + "the text has more than one line\nto exercise the HERE_STRING formatting."));
+        license.add(Feature.Create.dateFeature("expiryDate", new Date(1893456000000L)));
+        license.add(Feature.Create.dateFeature("issueDate", new Date(1545047719295L)));
+        license.add(Feature.Create.intFeature("maxUsers", 250));
+        license.add(Feature.Create.longFeature("maxMemory", 16L * 1024 * 1024 * 1024));
+        license.add(Feature.Create.shortFeature("edition", (short) 3));
+        license.add(Feature.Create.byteFeature("level", (byte) 7));
+        license.add(Feature.Create.doubleFeature("rate", 0.125));
+        license.add(Feature.Create.floatFeature("discount", 0.25f));
+        license.add(Feature.Create.bigIntegerFeature("serial", new BigInteger("123456789012345678901234567890")));
+        license.add(Feature.Create.bigDecimalFeature("price", new BigDecimal("1999.99")));
+        license.add(Feature.Create.uuidFeature("machine", UUID.fromString("52b164c8-100f-35d8-ba77-85e75edc673d")));
+        license.add(Feature.Create.binaryFeature("payload", new byte[256]));
+        license.setLicenseId(UUID.fromString("8a2c0f7e-0d33-4d0e-9a61-0c1b9c9b8b1e"));
+        return license;
+    }
+}
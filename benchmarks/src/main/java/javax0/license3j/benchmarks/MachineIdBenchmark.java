@@ -0,0 +1,61 @@
+package javax0.license3j.benchmarks;
+
+import javax0.license3j.HardwareBinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculating the machine id.
+ * <p>
+ * The network interfaces of the machine running the benchmark cannot be replaced, the library queries them from the
+ * operating system. To get results that do not depend on the number of the interfaces of the machine, the
+ * {@code deniedAll} case denies all interfaces: the interfaces are still listed, but none of them is used in the
+ * calculation. The {@code noNetwork} case does not list the interfaces at all, and {@code all} is the default
+ * configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MachineIdBenchmark {
+
+    @Param({"all", "deniedAll", "noNetwork"})
+    public String interfaces;
+
+    private HardwareBinder binder;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        binder = new HardwareBinder();
+        switch (interfaces) {
+            case "deniedAll":
+                binder.denied(".*");
+                break;
+            case "noNetwork":
+                binder.ignore.network();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Benchmark
+    public UUID getMachineId() throws Exception {
+        return binder.getMachineId();
+    }
+}
@@ -0,0 +1,73 @@
+package javax0.license3j.benchmarks;
+
+import javax0.license3j.License;
+import javax0.license3j.io.IOFormat;
+import javax0.license3j.io.LicenseReader;
+import javax0.license3j.io.LicenseWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting a license to bytes and back in the three formats the library supports. The benchmarks go through
+ * {@link LicenseWriter} and {@link LicenseReader} working on memory streams, the same way an application saves and
+ * loads the license.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"BINARY", "BASE64", "STRING"})
+    public IOFormat format;
+
+    private License license;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        license = Licenses.typical();
+        bytes = write();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        final var os = new ByteArrayOutputStream();
+        try (final var writer = new LicenseWriter(os)) {
+            writer.write(license, format);
+        }
+        return os.toByteArray();
+    }
+
+    @Benchmark
+    public License read() throws IOException {
+        try (final var reader = new LicenseReader(new ByteArrayInputStream(bytes))) {
+            return reader.read(format);
+        }
+    }
+
+    /**
+     * The binary serialization alone, without the streams.
+     */
+    @Benchmark
+    public byte[] serialized() {
+        return license.serialized();
+    }
+}
@@ -0,0 +1,76 @@
+package javax0.license3j.benchmarks;
+
+import javax0.license3j.License;
+import javax0.license3j.crypto.LicenseKeyPair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing a license and checking the signature with RSA keys of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureBenchmark {
+    private static final String DIGEST = "SHA-512";
+
+    @Param({"1024", "2048", "4096"})
+    public int keySize;
+
+    private PrivateKey privateKey;
+    private PublicKey publicKey;
+    private byte[] encodedPublicKey;
+    private License unsigned;
+    private License signed;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("RSA", keySize);
+        privateKey = keyPair.getPair().getPrivate();
+        publicKey = keyPair.getPair().getPublic();
+        encodedPublicKey = keyPair.getPublic();
+        unsigned = Licenses.typical();
+        signed = Licenses.typical();
+        signed.sign(privateKey, DIGEST);
+    }
+
+    /**
+     * Signing a license that is already signed replaces the digest and the signature features, thus the same license
+     * can be signed in each invocation.
+     */
+    @Benchmark
+    public License sign() throws Exception {
+        unsigned.sign(privateKey, DIGEST);
+        return unsigned;
+    }
+
+    @Benchmark
+    public boolean isOK() {
+        return signed.isOK(publicKey);
+    }
+
+    /**
+     * Checking the signature with the encoded key, as the applications usually do, includes the parsing of the key.
+     */
+    @Benchmark
+    public boolean isOKWithEncodedKey() {
+        return signed.isOK(encodedPublicKey);
+    }
+}
@@ -0,0 +1,34 @@
+package javax0.license3j.benchmarks;
+
+import javax0.license3j.SimpleLicense;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating a simple license code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimpleLicenseBenchmark {
+    public String secret = "the secret of the vendor";
+    public String value = "peter@verhas.com";
+
+    @Benchmark
+    public String generate() throws NoSuchAlgorithmException {
+        return SimpleLicense.withSecret(secret).forValue(value).toString();
+    }
+}
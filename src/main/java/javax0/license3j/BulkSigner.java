@@ -0,0 +1,169 @@
+package javax0.license3j;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Sign many licenses in parallel with the same key and digest algorithm.
+ * <p>
+ * Every license is signed calling {@link License#sign(PrivateKey, String)}, therefore a license signed by this class is
+ * the same as if it was signed one by one in a loop. The licenses are distributed between workers running in the
+ * executor and the calling thread, which is one of the workers. The number of the workers is the parallelism of the
+ * executor. Each worker takes the next not yet signed license until there is no more. The cryptographic objects used by the workers come from the pools of
+ * {@link javax0.license3j.crypto.CryptoEngine}, thus every concurrently running signing has its own, already
+ * initialized cipher and message digest objects, and no lock is held during the signing.
+ * <p>
+ * The methods of this class are thread safe. The same signer can be used to sign several batches at the same time.
+ */
+public class BulkSigner {
+
+    /**
+     * Listener to be notified about the progress of the signing.
+     */
+    @FunctionalInterface
+    public interface Progress {
+        /**
+         * Called after each signed license. The method is invoked from the worker threads, possibly concurrently, and
+         * the calls may arrive out of order. The implementation should be fast and thread safe.
+         *
+         * @param signed the number of the licenses signed so far in the batch
+         * @param total  the number of the licenses in the batch
+         */
+        void signed(int signed, int total);
+    }
+
+    private final PrivateKey key;
+    private final String digest;
+    private final Executor executor;
+    private final int parallelism;
+    private final Set<ParallelBatch> running = ConcurrentHashMap.newKeySet();
+    private volatile Progress progress = (signed, total) -> {
+    };
+
+    /**
+     * Create a signer that runs in the common fork join pool.
+     *
+     * @param key    the private key to be used to create the signatures
+     * @param digest the name of the digest algorithm
+     */
+    public BulkSigner(PrivateKey key, String digest) {
+        this(key, digest, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a signer that runs in the given fork join pool.
+     *
+     * @param key    the private key to be used to create the signatures
+     * @param digest the name of the digest algorithm
+     * @param pool   the pool to run the workers in. The number of the workers is the parallelism of the pool.
+     */
+    public BulkSigner(PrivateKey key, String digest, ForkJoinPool pool) {
+        this(key, digest, pool, pool.getParallelism());
+    }
+
+    /**
+     * Create a signer that runs in the given executor.
+     *
+     * @param key         the private key to be used to create the signatures
+     * @param digest      the name of the digest algorithm
+     * @param executor    the executor to run the workers in
+     * @param parallelism the number of the workers to start for a batch, it should not be more than the number of the
+     *                    threads of the executor
+     */
+    public BulkSigner(PrivateKey key, String digest, Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism has to be positive");
+        }
+        this.key = Objects.requireNonNull(key);
+        this.digest = Objects.requireNonNull(digest);
+        this.executor = Objects.requireNonNull(executor);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Set the listener that is notified after each signed license.
+     *
+     * @param progress the progress listener
+     * @return this
+     */
+    public BulkSigner progress(Progress progress) {
+        this.progress = Objects.requireNonNull(progress);
+        return this;
+    }
+
+    /**
+     * Cancel the batches that are being signed. The licenses that are already signed remain signed, the others are
+     * not modified. The calls to {@link #sign(Collection)} and {@link #sign(Stream)} that are running throw
+     * {@link CancellationException}. Batches started after this call are not affected.
+     */
+    public void cancel() {
+        running.forEach(ParallelBatch::cancel);
+    }
+
+    /**
+     * Sign the licenses of the stream. See {@link #sign(Collection)}.
+     *
+     * @param licenses the licenses to sign
+     * @return the signed licenses in the order of the stream
+     * @throws GeneralSecurityException the first exception thrown by the underlying encryption library
+     */
+    public List<License> sign(Stream<? extends License> licenses) throws GeneralSecurityException {
+        return sign(licenses.collect(Collectors.toList()));
+    }
+
+    /**
+     * Sign the licenses. The method returns when all the licenses are signed.
+     * <p>
+     * If signing any of the licenses fails then the signer stops signing the other licenses and the method throws
+     * the exception. In that case some of the licenses may remain unsigned.
+     *
+     * @param licenses the licenses to sign
+     * @return the signed licenses, which are the same objects as the ones in the argument, in the iteration order of
+     * the collection
+     * @throws GeneralSecurityException the first exception thrown by the underlying encryption library
+     * @throws CancellationException    if the batch was cancelled calling {@link #cancel()} before all the licenses
+     *                                  were signed, or the calling thread was interrupted while waiting for the
+     *                                  workers
+     */
+    public List<License> sign(Collection<? extends License> licenses) throws GeneralSecurityException {
+        final var list = new ArrayList<License>(licenses);
+        if (list.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final var progress = this.progress;
+        final var total = list.size();
+        final var signed = new AtomicInteger();
+        final var batch = new ParallelBatch(total, i -> {
+            list.get(i).sign(key, digest);
+            progress.signed(signed.incrementAndGet(), total);
+        });
+        running.add(batch);
+        try {
+            batch.run(executor, parallelism);
+        } finally {
+            running.remove(batch);
+        }
+        if (batch.failure() instanceof GeneralSecurityException) {
+            throw (GeneralSecurityException) batch.failure();
+        }
+        batch.rethrowUnchecked();
+        // a cancel() that came after the last license was signed did not skip anything
+        if (signed.get() < total) {
+            throw new CancellationException("signing was cancelled");
+        }
+        return Collections.unmodifiableList(list);
+    }
+}
@@ -0,0 +1,196 @@
+package javax0.license3j;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Verify the signatures of many licenses in parallel. This is the bulk counterpart of {@link License#isOK(PublicKey)}.
+ * <p>
+ * The verifier can be created with one or more public keys. A license is OK if it was signed with any of the keys.
+ * The digest of a license is calculated only once, no matter how many keys are tried. The licenses are distributed
+ * between workers running in the executor, and the result tells for each license if it is OK, and if it is not, then
+ * why.
+ * <p>
+ * The bulk verification is not cached and not instrumented. It does not consult or fill the
+ * {@link VerificationCache} set by {@link License#setVerificationCache(VerificationCache)}, it does not report to
+ * {@link javax0.license3j.metrics.Metrics} and it does not commit {@code javax0.license3j.Verification} Java Flight
+ * Recorder events. The result of a batch holds the reason for every license, and it is up to the caller to keep it.
+ * <p>
+ * The methods of this class are thread safe.
+ */
+public class BulkVerifier {
+
+    /**
+     * The outcome of the verification of a single license.
+     */
+    public enum Reason {
+        /**
+         * The license was signed with one of the keys, and it was not modified since.
+         */
+        OK,
+        /**
+         * The signature could be decrypted with one of the keys, but the license was modified after it was signed.
+         * <p>
+         * Only licenses signed with RSA keys get this reason. A license signed with an EC, DSA or EdDSA key that was
+         * modified after signing is reported as {@link #UNKNOWN_KEY}, see there.
+         */
+        BAD_SIGNATURE,
+        /**
+         * The license does not contain the name of the digest algorithm as a {@code STRING} feature.
+         */
+        MISSING_DIGEST,
+        /**
+         * The license is not signed.
+         */
+        MISSING_SIGNATURE,
+        /**
+         * The signature cannot be decrypted with any of the keys. Either the license was signed with a different key,
+         * or the signature itself was damaged.
+         * <p>
+         * The signatures created with EC, DSA or EdDSA keys are checked by {@link java.security.Signature}, which cannot
+         * tell a different key from a modified license. A license signed that way is reported with this reason when
+         * none of the keys verifies it, even if it was signed with one of the keys and modified later.
+         */
+        UNKNOWN_KEY,
+        /**
+         * The digest or signature algorithm named in the license is not a {@code STRING} feature, or it is not
+         * available in this Java runtime.
+         */
+        UNSUPPORTED_ALGORITHM
+    }
+
+    /**
+     * The results of the verification, one {@link Reason} for each license in the order the licenses were passed to
+     * the verifier. The results are stored in a byte array, one byte per license.
+     */
+    public static final class Result {
+        private static final Reason[] REASONS = Reason.values();
+        private final byte[] reasons;
+
+        private Result(byte[] reasons) {
+            this.reasons = reasons;
+        }
+
+        /**
+         * @return the number of the verified licenses
+         */
+        public int size() {
+            return reasons.length;
+        }
+
+        /**
+         * @param i the index of the license
+         * @return the outcome of the verification of the license
+         */
+        public Reason get(int i) {
+            return REASONS[reasons[i]];
+        }
+
+        /**
+         * @param i the index of the license
+         * @return {@code true} if the license is OK
+         */
+        public boolean isOK(int i) {
+            return reasons[i] == Reason.OK.ordinal();
+        }
+
+        /**
+         * @return {@code true} if all the licenses are OK
+         */
+        public boolean allOK() {
+            return count(Reason.OK) == reasons.length;
+        }
+
+        /**
+         * @param reason the outcome to count
+         * @return the number of the licenses with the given outcome
+         */
+        public int count(Reason reason) {
+            final var ordinal = reason.ordinal();
+            var count = 0;
+            for (final var r : reasons) {
+                if (r == ordinal) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private final PublicKey[] keys;
+    private final String[] algorithms;
+    private final Executor executor;
+    private final int parallelism;
+
+    /**
+     * Create a verifier that runs in the common fork join pool.
+     *
+     * @param keys the public keys to check the signatures with
+     */
+    public BulkVerifier(PublicKey... keys) {
+        this(ForkJoinPool.commonPool(), ForkJoinPool.commonPool().getParallelism(), keys);
+    }
+
+    /**
+     * Create a verifier that runs in the given executor.
+     *
+     * @param executor    the executor to run the workers in
+     * @param parallelism the number of the workers to start for a batch, it should not be more than the number of the
+     *                    threads of the executor
+     * @param keys        the public keys to check the signatures with
+     */
+    public BulkVerifier(Executor executor, int parallelism, PublicKey... keys) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism has to be positive");
+        }
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("there has to be at least one key");
+        }
+        this.executor = Objects.requireNonNull(executor);
+        this.parallelism = parallelism;
+        this.keys = keys.clone();
+        this.algorithms = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            algorithms[i] = Objects.requireNonNull(keys[i]).getAlgorithm();
+        }
+    }
+
+    /**
+     * Verify the licenses of the stream. See {@link #verify(Collection)}.
+     *
+     * @param licenses the licenses to verify
+     * @return the results in the order of the stream
+     * @throws CancellationException if the calling thread was interrupted while waiting for the workers
+     */
+    public Result verify(Stream<? extends License> licenses) {
+        return verify(licenses.collect(Collectors.toList()));
+    }
+
+    /**
+     * Verify the licenses. The method returns when all the licenses are verified.
+     *
+     * @param licenses the licenses to verify
+     * @return the results in the iteration order of the collection
+     * @throws CancellationException if the calling thread was interrupted while waiting for the workers. The interrupted
+     *                               status of the thread is set in that case, and the licenses not yet verified are
+     *                               not verified.
+     */
+    public Result verify(Collection<? extends License> licenses) {
+        final var list = new ArrayList<License>(licenses);
+        final var reasons = new byte[list.size()];
+        if (reasons.length > 0) {
+            final var batch = new ParallelBatch(reasons.length,
+                    i -> reasons[i] = (byte) list.get(i).verdict(keys, algorithms).ordinal());
+            batch.run(executor, parallelism);
+            batch.rethrowUnchecked();
+        }
+        return new Result(reasons);
+    }
+}
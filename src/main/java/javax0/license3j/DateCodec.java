@@ -0,0 +1,195 @@
+package javax0.license3j;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Format and parse the values of {@code DATE} features in the text form of the license.
+ * <p>
+ * A date is formatted as {@code yyyy-MM-dd HH:mm:ss.SSS} in UTC. When parsing, the formats
+ * <pre>
+ *     yyyy-MM-dd HH:mm:ss.SSS
+ *     yyyy-MM-dd HH:mm:ss
+ *     yyyy-MM-dd HH:mm
+ *     yyyy-MM-dd HH
+ *     yyyy-MM-dd
+ * </pre>
+ * are accepted. These are the formats the earlier versions tried one after the other using {@link SimpleDateFormat}.
+ * This class recognizes the format in one pass, and it gives the same result as the lenient {@link SimpleDateFormat}
+ * parsing did: text following the date is ignored, the fields may have any number of digits, values out of the range
+ * roll over to the next field (e.g. month {@code 13} is January of the next year) and the {@code SSS} field is the
+ * number of milliseconds.
+ * <p>
+ * The dates from 1583 on are handled using {@code java.time}, where the proleptic Gregorian calendar is the same as
+ * the calendar of {@link SimpleDateFormat}. Earlier dates, which are in the Julian calendar for
+ * {@link SimpleDateFormat}, and the unusual forms, like a sign or spaces in front of a number, are delegated to
+ * {@link SimpleDateFormat}.
+ * <p>
+ * The class is thread safe.
+ */
+final class DateCodec {
+    private static final String[] DATE_FORMAT =
+            {"yyyy-MM-dd HH:mm:ss.SSS",
+                    "yyyy-MM-dd HH:mm:ss",
+                    "yyyy-MM-dd HH:mm",
+                    "yyyy-MM-dd HH",
+                    "yyyy-MM-dd"
+            };
+    /**
+     * The separators before the fields. The first field, the year, does not have a separator.
+     */
+    private static final char[] SEPARATORS = {0, '-', '-', ' ', ':', ':', '.'};
+    /**
+     * The minimum number of fields a date has to have. That is the year, month and day.
+     */
+    private static final int MIN_FIELDS = 3;
+    private static final int MAX_DIGITS = 9;
+    private static final int MIN_YEAR = 1583;
+    private static final int MAX_YEAR = 9999;
+    private static final long MIN_MILLIS = LocalDate.of(MIN_YEAR, 1, 1).atStartOfDay(ZoneOffset.UTC).toEpochSecond()
+            * 1000L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    /**
+     * Returned by the scanner when the text has to be parsed by {@link SimpleDateFormat}.
+     */
+    private static final int LEGACY = -1;
+
+    private DateCodec() {
+    }
+
+    /**
+     * @param date the date to format
+     * @return the date formatted as {@code yyyy-MM-dd HH:mm:ss.SSS} in UTC
+     */
+    static String format(Date date) {
+        final var millis = date.getTime();
+        if (millis < MIN_MILLIS) {
+            return legacyFormat(DATE_FORMAT[0]).format(date);
+        }
+        final var epochDay = Math.floorDiv(millis, MILLIS_PER_DAY);
+        final var timeOfDay = (int) Math.floorMod(millis, MILLIS_PER_DAY);
+        final var day = LocalDate.ofEpochDay(epochDay);
+        final var sb = new StringBuilder(23);
+        pad(sb, day.getYear(), 4).append('-');
+        pad(sb, day.getMonthValue(), 2).append('-');
+        pad(sb, day.getDayOfMonth(), 2).append(' ');
+        pad(sb, timeOfDay / 3_600_000, 2).append(':');
+        pad(sb, timeOfDay / 60_000 % 60, 2).append(':');
+        pad(sb, timeOfDay / 1000 % 60, 2).append('.');
+        pad(sb, timeOfDay % 1000, 3);
+        return sb.toString();
+    }
+
+    private static StringBuilder pad(StringBuilder sb, int value, int width) {
+        for (int limit = 10, i = 1; i < width; i++, limit *= 10) {
+            if (value < limit) {
+                sb.append('0');
+            }
+        }
+        return sb.append(value);
+    }
+
+    /**
+     * Parse the date.
+     *
+     * @param text the date in one of the accepted formats, optionally followed by other characters
+     * @return the parsed date
+     * @throws IllegalArgumentException if the text cannot be parsed as a date
+     */
+    static Date parse(String text) {
+        final var fields = new int[SEPARATORS.length];
+        final var n = scan(text, fields);
+        if (n == LEGACY) {
+            return legacyParse(text);
+        }
+        if (n < MIN_FIELDS) {
+            throw new IllegalArgumentException("Cannot parse " + text);
+        }
+        final var year = fields[0];
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return legacyParse(text);
+        }
+        final var epochDay = LocalDate.of(year, 1, 1)
+                .plusMonths(fields[1] - 1L)
+                .plusDays(fields[2] - 1L)
+                .toEpochDay();
+        final var timeOfDay = ((fields[3] * 60L + fields[4]) * 60L + fields[5]) * 1000L + fields[6];
+        final var millis = epochDay * MILLIS_PER_DAY + timeOfDay;
+        if (millis < MIN_MILLIS) {
+            return legacyParse(text);
+        }
+        return new Date(millis);
+    }
+
+    /**
+     * Scan the fields of the date. The fields that are not present in the text remain zero.
+     *
+     * @param text   the text to scan
+     * @param fields the array to store the values of the fields into
+     * @return the number of the fields found, or {@link #LEGACY} if the text has to be parsed by
+     * {@link SimpleDateFormat}, because it may interpret it differently
+     */
+    private static int scan(String text, int[] fields) {
+        final var len = text.length();
+        var pos = 0;
+        for (int field = 0; field < fields.length; field++) {
+            if (field > 0) {
+                if (pos >= len || text.charAt(pos) != SEPARATORS[field]) {
+                    return field;
+                }
+                pos++;
+            }
+            if (pos >= len) {
+                return field;
+            }
+            final var start = pos;
+            var value = 0;
+            while (pos < len && isAsciiDigit(text.charAt(pos))) {
+                if (pos - start == MAX_DIGITS) {
+                    return LEGACY;
+                }
+                value = value * 10 + (text.charAt(pos) - '0');
+                pos++;
+            }
+            if (pos == start || (pos < len && mayContinueNumber(text.charAt(pos)))) {
+                return LEGACY;
+            }
+            fields[field] = value;
+        }
+        return fields.length;
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * @param c the character following the digits of a field
+     * @return {@code true} if the number parser of {@link SimpleDateFormat} may go on with the character as part of the
+     * number, like a non-ASCII digit or an exponent.
+     */
+    private static boolean mayContinueNumber(char c) {
+        return c == 'E' || Character.isDigit(c);
+    }
+
+    private static SimpleDateFormat legacyFormat(String format) {
+        final var simpleDateFormat = new SimpleDateFormat(format, Locale.ROOT);
+        simpleDateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return simpleDateFormat;
+    }
+
+    private static Date legacyParse(String date) {
+        for (var format : DATE_FORMAT) {
+            try {
+                return legacyFormat(format).parse(date);
+            } catch (ParseException ignored) {
+            }
+        }
+        throw new IllegalArgumentException("Cannot parse " + date);
+    }
+}
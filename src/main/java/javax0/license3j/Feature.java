@@ -2,12 +2,17 @@ package javax0.license3j;
 
 import javax0.license3j.parsers.NumericParser;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -37,52 +42,74 @@ import java.util.function.Function;
  * and the same value.</p>
  */
 public class Feature {
-    private static final String[] DATE_FORMAT =
-            {"yyyy-MM-dd HH:mm:ss.SSS",
-                    "yyyy-MM-dd HH:mm:ss",
-                    "yyyy-MM-dd HH:mm",
-                    "yyyy-MM-dd HH",
-                    "yyyy-MM-dd"
-            };
     private static final int VARIABLE_LENGTH = -1;
+    private static final Type[] TYPES = Type.values();
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle FLOAT = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle DOUBLE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.BIG_ENDIAN);
     private final String name;
+    /**
+     * The UTF-8 encoded name, calculated when the feature is first serialized.
+     */
+    private volatile byte[] nameBytes;
     private final Type type;
+    /**
+     * The value of the feature when the feature owns the value. It is {@code null} when the feature is a view into a
+     * buffer, see {@link Create#from(ByteBuffer)}.
+     */
     private final byte[] value;
+    /**
+     * The buffer holding the value between {@link #offset} and {@code offset+}{@link #length}. The buffer is always
+     * big-endian, and only the absolute get methods are used on it, thus it can be shared between features and
+     * threads. It is {@code null} when the feature owns its value, the value is read from {@link #value} directly.
+     */
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+    /**
+     * The decoded value of a {@code STRING}, {@code BIGINTEGER}, {@code BIGDECIMAL} or {@code UUID} feature, decoded
+     * when it is first asked for. These values are immutable, thus the same object can be returned again and again. Two
+     * threads may both decode the value, and then they get equal objects. The field is volatile, because
+     * {@link BigDecimal} has non-final fields and it has to be safely published.
+     * <p>
+     * {@code DATE} values are not cached, because {@link Date} is mutable and the caller may modify the returned
+     * object.
+     */
+    private volatile Object decoded;
 
     private Feature(String name, Type type, byte[] value) {
         this.name = name;
         this.type = type;
         this.value = value;
+        this.buffer = null;
+        this.offset = 0;
+        this.length = value.length;
     }
 
-    private static SimpleDateFormat getUTCDateFormat(String format) {
-        final var simpleDateFormat = new SimpleDateFormat(format);
-        simpleDateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-        return simpleDateFormat;
+    private Feature(String name, Type type, ByteBuffer buffer, int offset, int length) {
+        this.name = name;
+        this.type = type;
+        this.value = null;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
     }
 
     private static String dateFormat(Object date) {
-        return getUTCDateFormat(DATE_FORMAT[0]).format(date);
+        return DateCodec.format((Date) date);
     }
 
     /**
-     * <p>Parse the string as a date using the different date format listed in the constant {@link #DATE_FORMAT}.
-     * Parsing uses the first format in the array, then the second until it finds one that can be used to
-     * parse the string as a date.</p>
-     *
-     * <p>If none of the formats can be used as a date then the method throws {@link IllegalArgumentException}.</p>
+     * Parse the string as a date. See {@link DateCodec#parse(String)} for the accepted formats.
      *
      * @param date the date string, presumably formatted
      * @return the {@link Date} object created from the string {@code date}.
+     * @throws IllegalArgumentException if the string cannot be parsed as a date
      */
     private static Date dateParse(String date) {
-        for (var format : DATE_FORMAT) {
-            try {
-                return getUTCDateFormat(format).parse(date);
-            } catch (ParseException ignored) {
-            }
-        }
-        throw new IllegalArgumentException("Cannot parse " + date);
+        return DateCodec.parse(date);
     }
 
     /**
@@ -128,6 +155,31 @@ public class Feature {
         return type.factory.apply(name, value);
     }
 
+    /**
+     * Find the name of the type that is in the character sequence between {@code start} and {@code end} without
+     * creating a new string.
+     *
+     * @param cs    the characters containing the type name
+     * @param start the start of the type name
+     * @param end   the end of the type name (exclusive)
+     * @return the name of the type, or {@code null} if there is no such type
+     */
+    static String typeName(CharSequence cs, int start, int end) {
+        for (final var type : TYPES) {
+            final var name = type.name();
+            if (name.length() == end - start) {
+                var i = 0;
+                while (i < name.length() && name.charAt(i) == cs.charAt(start + i)) {
+                    i++;
+                }
+                if (i == name.length()) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * @return the name of the feature.
      */
@@ -154,6 +206,22 @@ public class Feature {
         return name + type.colonedToString() + "=" + value;
     }
 
+    /**
+     * Write the {@code name:TYPE=} start of the string representation of the feature. The type is not written when it
+     * is {@code STRING}, the same way as in {@link #toStringWith(String)}.
+     *
+     * @param out the writer to write to
+     * @throws IOException if the writer throws
+     */
+    void writeNameAndType(Writer out) throws IOException {
+        out.write(name);
+        if (type != Type.STRING) {
+            out.write(':');
+            out.write(type.name());
+        }
+        out.write('=');
+    }
+
     /**
      * @return the string representation of the value of the feature.
      */
@@ -179,18 +247,203 @@ public class Feature {
      * @return the byte array representation of the feature
      */
     public byte[] serialized() {
-        final var nameBuffer = name.getBytes(StandardCharsets.UTF_8);
+        final var buffer = ByteBuffer.allocate(serializedSize());
+        serialize(buffer);
+        return buffer.array();
+    }
+
+    /**
+     * @return the number of bytes the serialized form of the feature occupies. It is the length of the array returned
+     * by {@link #serialized()} and the number of bytes written by {@link #serialize(ByteBuffer)}.
+     */
+    public int serializedSize() {
         final var typeLength = Integer.BYTES;
-        final var nameLength = Integer.BYTES + nameBuffer.length;
-        final var valueLength = type.fixedSize == VARIABLE_LENGTH ? Integer.BYTES + value.length : type.fixedSize;
-        final var buffer = ByteBuffer.allocate(typeLength + nameLength + valueLength)
-                .putInt(type.serialized)
-                .putInt(nameBuffer.length);
+        final var nameLength = Integer.BYTES + nameBytes().length;
+        final var valueLength = type.fixedSize == VARIABLE_LENGTH ? Integer.BYTES + length : type.fixedSize;
+        return typeLength + nameLength + valueLength;
+    }
+
+    /**
+     * Write the serialized form of the feature (see {@link #serialized()}) into the buffer starting at the current
+     * position of the buffer. The integer values are always written in big-endian byte order, independent of the byte
+     * order of the buffer.
+     *
+     * @param buffer the target buffer, it has to have at least {@link #serializedSize()} bytes remaining
+     * @throws java.nio.BufferOverflowException if there is not enough room in the buffer
+     */
+    public void serialize(ByteBuffer buffer) {
+        final var nameBytes = nameBytes();
+        putInt(buffer, type.serialized);
+        putInt(buffer, nameBytes.length);
         if (type.fixedSize == VARIABLE_LENGTH) {
-            buffer.putInt(value.length);
+            putInt(buffer, length);
         }
-        buffer.put(nameBuffer).put(value);
-        return buffer.array();
+        buffer.put(nameBytes);
+        if (value != null) {
+            buffer.put(value);
+        } else if (this.buffer.hasArray()) {
+            buffer.put(this.buffer.array(), this.buffer.arrayOffset() + offset, length);
+        } else {
+            buffer.put(valueView());
+        }
+    }
+
+    private byte[] nameBytes() {
+        var bytes = nameBytes;
+        if (bytes == null) {
+            bytes = name.getBytes(StandardCharsets.UTF_8);
+            nameBytes = bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return {@code true} if the feature does not own the value, it refers to a part of a buffer, which was used to
+     * create the feature. See {@link Create#from(ByteBuffer)}.
+     */
+    public boolean isView() {
+        return value == null;
+    }
+
+    /**
+     * @return a new feature with the same name, type and value, which owns a copy of the value
+     */
+    Feature ownedCopy() {
+        return new Feature(name, type, value != null ? value.clone() : copyOfValue(length));
+    }
+
+    /**
+     * @return a new buffer object sharing the content with the value, the position and the limit delimit the value
+     */
+    private ByteBuffer valueView() {
+        if (value != null) {
+            return ByteBuffer.wrap(value);
+        }
+        return buffer.duplicate().limit(offset + length).position(offset);
+    }
+
+    /**
+     * @return a new buffer object sharing the content with the value without copying it. The buffer must not be
+     * written.
+     */
+    ByteBuffer valueBuffer() {
+        return valueView();
+    }
+
+    /**
+     * @param len the number of bytes to copy from the start of the value
+     * @return a copy of the first {@code len} bytes of the value
+     */
+    private byte[] copyOfValue(int len) {
+        final var bytes = new byte[len];
+        valueView().get(bytes);
+        return bytes;
+    }
+
+    private byte[] binary() {
+        return value != null ? value : copyOfValue(length);
+    }
+
+    private String string() {
+        final var cached = decoded;
+        if (cached != null) {
+            return (String) cached;
+        }
+        final String string;
+        if (value != null) {
+            string = new String(value, StandardCharsets.UTF_8);
+        } else if (buffer.hasArray()) {
+            string = new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        } else {
+            string = new String(copyOfValue(length), StandardCharsets.UTF_8);
+        }
+        decoded = string;
+        return string;
+    }
+
+    private BigInteger bigInteger() {
+        final var cached = decoded;
+        if (cached != null) {
+            return (BigInteger) cached;
+        }
+        final var bigInteger = decodeBigInteger(length);
+        decoded = bigInteger;
+        return bigInteger;
+    }
+
+    private BigInteger decodeBigInteger(int len) {
+        if (value != null) {
+            return new BigInteger(value, 0, len);
+        }
+        if (buffer.hasArray()) {
+            return new BigInteger(buffer.array(), buffer.arrayOffset() + offset, len);
+        }
+        return new BigInteger(copyOfValue(len));
+    }
+
+    /*
+     * Read the fixed size values at the index relative to the start of the value. An owned value is read from the
+     * array, so that the feature does not need a buffer wrapping it.
+     */
+    private byte byteAt(int index) {
+        return value != null ? value[index] : buffer.get(offset + index);
+    }
+
+    private short shortAt(int index) {
+        return value != null ? (short) SHORT.get(value, index) : buffer.getShort(offset + index);
+    }
+
+    private int intAt(int index) {
+        return value != null ? (int) INT.get(value, index) : buffer.getInt(offset + index);
+    }
+
+    private long longAt(int index) {
+        return value != null ? (long) LONG.get(value, index) : buffer.getLong(offset + index);
+    }
+
+    private float floatAt(int index) {
+        return value != null ? (float) FLOAT.get(value, index) : buffer.getFloat(offset + index);
+    }
+
+    private double doubleAt(int index) {
+        return value != null ? (double) DOUBLE.get(value, index) : buffer.getDouble(offset + index);
+    }
+
+    /**
+     * Encode the lowest {@code size} bytes of the value in big-endian byte order into a new array.
+     *
+     * @param value the value to encode
+     * @param size  the number of the bytes
+     * @return the new array
+     */
+    private static byte[] bigEndian(long value, int size) {
+        final var bytes = new byte[size];
+        bigEndian(bytes, 0, value, size);
+        return bytes;
+    }
+
+    private static void bigEndian(byte[] bytes, int offset, long value, int size) {
+        for (int i = offset + size - 1; i >= offset; i--) {
+            bytes[i] = (byte) value;
+            value >>>= Byte.SIZE;
+        }
+    }
+
+    private static byte[] uuidBytes(java.util.UUID uuid) {
+        final var bytes = new byte[2 * Long.BYTES];
+        bigEndian(bytes, 0, uuid.getLeastSignificantBits(), Long.BYTES);
+        bigEndian(bytes, Long.BYTES, uuid.getMostSignificantBits(), Long.BYTES);
+        return bytes;
+    }
+
+    /**
+     * Put an integer into the buffer in big-endian byte order, no matter what the byte order of the buffer is.
+     *
+     * @param buffer the buffer to write into
+     * @param i      the integer value to write
+     */
+    static void putInt(ByteBuffer buffer, int i) {
+        buffer.putInt(buffer.order() == ByteOrder.BIG_ENDIAN ? i : Integer.reverseBytes(i));
     }
     //<editor-fold id="isTypes">
     // GENERATED CODE
@@ -287,70 +540,70 @@ public class Feature {
         if (type != Type.BINARY) {
             throw new IllegalArgumentException("Feature is not BINARY");
         }
-        return value;
+        return binary();
     }
     
     public String getString() {
         if (type != Type.STRING) {
             throw new IllegalArgumentException("Feature is not STRING");
         }
-        return new String(value, StandardCharsets.UTF_8);
+        return string();
     }
     
     public byte getByte() {
         if (type != Type.BYTE) {
             throw new IllegalArgumentException("Feature is not BYTE");
         }
-        return value[0];
+        return byteAt(0);
     }
     
     public short getShort() {
         if (type != Type.SHORT) {
             throw new IllegalArgumentException("Feature is not SHORT");
         }
-        return ByteBuffer.wrap(value).getShort();
+        return shortAt(0);
     }
     
     public int getInt() {
         if (type != Type.INT) {
             throw new IllegalArgumentException("Feature is not INT");
         }
-        return ByteBuffer.wrap(value).getInt();
+        return intAt(0);
     }
     
     public long getLong() {
         if (type != Type.LONG) {
             throw new IllegalArgumentException("Feature is not LONG");
         }
-        return ByteBuffer.wrap(value).getLong();
+        return longAt(0);
     }
     
     public float getFloat() {
         if (type != Type.FLOAT) {
             throw new IllegalArgumentException("Feature is not FLOAT");
         }
-        return ByteBuffer.wrap(value).getFloat();
+        return floatAt(0);
     }
     
     public double getDouble() {
         if (type != Type.DOUBLE) {
             throw new IllegalArgumentException("Feature is not DOUBLE");
         }
-        return ByteBuffer.wrap(value).getDouble();
+        return doubleAt(0);
     }
     
     public BigInteger getBigInteger() {
         if (type != Type.BIGINTEGER) {
             throw new IllegalArgumentException("Feature is not BIGINTEGER");
         }
-        return new BigInteger(value);
+        return bigInteger();
     }
     
     public Date getDate() {
         if (type != Type.DATE) {
             throw new IllegalArgumentException("Feature is not DATE");
         }
-        return new Date(ByteBuffer.wrap(value).getLong());
+        return new Date(longAt(0));
     }
     
     //</editor-fold>
@@ -358,20 +611,42 @@ public class Feature {
         if (type != Type.BIGDECIMAL) {
             throw new IllegalArgumentException("Feature is not BIGDECIMAL");
         }
-        var bb = ByteBuffer.wrap(value);
-        var scale = bb.getInt(value.length - Integer.BYTES);
-
-        return new BigDecimal(new BigInteger(Arrays.copyOf(value, value.length - Integer.BYTES)), scale);
+        final var cached = decoded;
+        if (cached != null) {
+            return (BigDecimal) cached;
+        }
+        var scale = intAt(length - Integer.BYTES);
+        final var bigDecimal = new BigDecimal(decodeBigInteger(length - Integer.BYTES), scale);
+        decoded = bigDecimal;
+        return bigDecimal;
     }
 
     public UUID getUUID() {
         if (type != Type.UUID) {
             throw new IllegalArgumentException("Feature is not UUID");
         }
-        var bb = ByteBuffer.wrap(value);
-        final var ls = bb.getLong();
-        final var ms = bb.getLong();
-        return new UUID(ms, ls);
+        final var cached = decoded;
+        if (cached != null) {
+            return (UUID) cached;
+        }
+        final var ls = longAt(0);
+        final var ms = longAt(Long.BYTES);
+        final var uuid = new UUID(ms, ls);
+        decoded = uuid;
+        return uuid;
+    }
+
+    /**
+     * Get the value of a {@code DATE} feature as an {@link Instant}. Unlike {@link #getDate()}, the returned object is
+     * immutable.
+     *
+     * @return the instant of the date
+     */
+    public Instant getInstant() {
+        if (type != Type.DATE) {
+            throw new IllegalArgumentException("Feature is not DATE");
+        }
+        return Instant.ofEpochMilli(longAt(0));
     }
 
     //<editor-fold id="TypesEnum">
@@ -538,7 +813,7 @@ private enum Type {
          */
         public static Feature shortFeature(String name, Short value) {
             Objects.requireNonNull(value);
-            return new Feature(name, Type.SHORT, ByteBuffer.allocate(Short.BYTES).putShort(value).array());
+            return new Feature(name, Type.SHORT, bigEndian(value, Short.BYTES));
         }
 
         /**
@@ -550,7 +825,7 @@ private enum Type {
          */
         public static Feature intFeature(String name, Integer value) {
             Objects.requireNonNull(value);
-            return new Feature(name, Type.INT, ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+            return new Feature(name, Type.INT, bigEndian(value, Integer.BYTES));
         }
 
         /**
@@ -562,7 +837,7 @@ private enum Type {
          */
         public static Feature longFeature(String name, Long value) {
             Objects.requireNonNull(value);
-            return new Feature(name, Type.LONG, ByteBuffer.allocate(Long.BYTES).putLong(value).array());
+            return new Feature(name, Type.LONG, bigEndian(value, Long.BYTES));
         }
 
         /**
@@ -574,7 +849,7 @@ private enum Type {
          */
         public static Feature floatFeature(String name, Float value) {
             Objects.requireNonNull(value);
-            return new Feature(name, Type.FLOAT, ByteBuffer.allocate(Float.BYTES).putFloat(value).array());
+            return new Feature(name, Type.FLOAT, bigEndian(Float.floatToRawIntBits(value), Float.BYTES));
         }
 
         /**
@@ -586,7 +861,7 @@ private enum Type {
          */
         public static Feature doubleFeature(String name, Double value) {
             Objects.requireNonNull(value);
-            return new Feature(name, Type.DOUBLE, ByteBuffer.allocate(Double.BYTES).putDouble(value).array());
+            return new Feature(name, Type.DOUBLE, bigEndian(Double.doubleToRawLongBits(value), Double.BYTES));
         }
 
         /**
@@ -610,7 +885,7 @@ private enum Type {
          */
         public static Feature uuidFeature(String name, java.util.UUID value) {
             Objects.requireNonNull(value);
-            return new Feature(name, Type.UUID, ByteBuffer.allocate(2 * Long.BYTES).putLong(value.getLeastSignificantBits()).putLong(value.getMostSignificantBits()).array());
+            return new Feature(name, Type.UUID, uuidBytes(value));
         }
 
         /**
@@ -622,7 +897,74 @@ private enum Type {
          */
         public static Feature dateFeature(String name, Date value) {
             Objects.requireNonNull(value);
-            return new Feature(name, Type.DATE, ByteBuffer.allocate(Long.BYTES).putLong(value.getTime()).array());
+            return new Feature(name, Type.DATE, bigEndian(value.getTime(), Long.BYTES));
+        }
+
+
+        /**
+         * Create a new byte feature from a primitive value without boxing.
+         *
+         * @param name the name of the new feature
+         * @param value the value for the new feature
+         * @return the newly created feature object
+         */
+        public static Feature byteFeature(String name, byte value) {
+            return new Feature(name, Type.BYTE, new byte[]{value});
+        }
+
+        /**
+         * Create a new short feature from a primitive value without boxing.
+         *
+         * @param name the name of the new feature
+         * @param value the value for the new feature
+         * @return the newly created feature object
+         */
+        public static Feature shortFeature(String name, short value) {
+            return new Feature(name, Type.SHORT, bigEndian(value, Short.BYTES));
+        }
+
+        /**
+         * Create a new int feature from a primitive value without boxing.
+         *
+         * @param name the name of the new feature
+         * @param value the value for the new feature
+         * @return the newly created feature object
+         */
+        public static Feature intFeature(String name, int value) {
+            return new Feature(name, Type.INT, bigEndian(value, Integer.BYTES));
+        }
+
+        /**
+         * Create a new long feature from a primitive value without boxing.
+         *
+         * @param name the name of the new feature
+         * @param value the value for the new feature
+         * @return the newly created feature object
+         */
+        public static Feature longFeature(String name, long value) {
+            return new Feature(name, Type.LONG, bigEndian(value, Long.BYTES));
+        }
+
+        /**
+         * Create a new float feature from a primitive value without boxing.
+         *
+         * @param name the name of the new feature
+         * @param value the value for the new feature
+         * @return the newly created feature object
+         */
+        public static Feature floatFeature(String name, float value) {
+            return new Feature(name, Type.FLOAT, bigEndian(Float.floatToRawIntBits(value), Float.BYTES));
+        }
+
+        /**
+         * Create a new double feature from a primitive value without boxing.
+         *
+         * @param name the name of the new feature
+         * @param value the value for the new feature
+         * @return the newly created feature object
+         */
+        public static Feature doubleFeature(String name, double value) {
+            return new Feature(name, Type.DOUBLE, bigEndian(Double.doubleToRawLongBits(value), Double.BYTES));
         }
 
 
@@ -670,39 +1012,136 @@ private enum Type {
          */
         public static Feature from(byte[] serialized) {
             Objects.requireNonNull(serialized);
-            if (serialized.length < Integer.BYTES * 2) {
-                throwBinaryWayTooShort(serialized.length);
-            }
-            var bb = ByteBuffer.wrap(serialized);
-            var typeSerialized = bb.getInt();
-            final Type type = typeFrom(typeSerialized);
-            final var nameLength = bb.getInt();
-            if (nameLength < 0) {
-                throwBinaryTooLong("Name");
-            }
-            final var valueLength = type.fixedSize == VARIABLE_LENGTH ? bb.getInt() : type.fixedSize;
-            if (valueLength < 0) {
-                throwBinaryTooLong("Value");
-            }
-            final var nameBuffer = new byte[nameLength];
-            if (nameLength > 0) {
-                if (bb.remaining() < nameLength) {
-                    throwBinaryTooShort(valueLength + nameLength - bb.remaining());
+            return from(serialized, 0, serialized.length);
+        }
+
+        /**
+         * Create the feature from the binary serialized format that is a part of a larger array.
+         *
+         * @param array  the array containing the serialized feature
+         * @param offset the start of the serialized feature in the array
+         * @param length the length of the serialized feature
+         * @return a new feature object.
+         */
+        static Feature from(byte[] array, int offset, int length) {
+            final var header = new Header(ByteBuffer.wrap(array), offset, length);
+            final var value = Arrays.copyOfRange(array, header.valueOffset, header.valueOffset + header.valueLength);
+            return new Feature(header.name, header.type, value);
+        }
+
+        /**
+         * Create a feature from the binary serialized format, which is between the position and the limit of the
+         * buffer, without copying the value. The returned feature is a view: the typed getters read the value directly
+         * from the buffer. The buffer can be a heap or a direct buffer. The position, limit and byte order of the
+         * buffer are not modified.
+         * <p>
+         * The content of the buffer must not be modified while the feature is in use. Since the feature does not own
+         * the value, {@link #getBinary()} returns a copy of the value for a view.
+         *
+         * @param buffer the buffer containing the serialized feature between its position and limit
+         * @return a new feature object referring to the value in the buffer
+         */
+        public static Feature from(ByteBuffer buffer) {
+            Objects.requireNonNull(buffer);
+            return viewFrom(buffer.duplicate().order(ByteOrder.BIG_ENDIAN), buffer.position(), buffer.remaining());
+        }
+
+        /**
+         * Create a feature view from the binary serialized format that is a part of a buffer.
+         *
+         * @param buffer a big-endian buffer, which is not modified by anyone while the feature is in use
+         * @param offset the start of the serialized feature in the buffer
+         * @param length the length of the serialized feature
+         * @return a new feature object referring to the value in the buffer
+         */
+        static Feature viewFrom(ByteBuffer buffer, int offset, int length) {
+            final var header = new Header(buffer, offset, length);
+            return new Feature(header.name, header.type, buffer, header.valueOffset, header.valueLength);
+        }
+
+        /**
+         * Check that the serialized feature in the array is well-formed and return the name of the feature without
+         * copying the value of the feature.
+         *
+         * @param array  the array containing the serialized feature
+         * @param offset the start of the serialized feature in the array
+         * @param length the length of the serialized feature
+         * @return the name of the feature or {@code null} if the bytes of the name are not the canonical UTF-8 encoding
+         * of the name. In that case the serialized form of the decoded feature would not be the same as the bytes in
+         * the array.
+         * @throws IllegalArgumentException if the serialized feature is not well-formed, the same way as
+         *                                  {@link #from(byte[])} does
+         */
+        static String canonicalNameFrom(byte[] array, int offset, int length) {
+            final var header = new Header(ByteBuffer.wrap(array), offset, length);
+            final var encoded = header.name.getBytes(StandardCharsets.UTF_8);
+            final var nameEnd = header.nameOffset + header.nameLength;
+            return Arrays.equals(encoded, 0, encoded.length, array, header.nameOffset, nameEnd) ? header.name : null;
+        }
+
+        /**
+         * The decoded and checked header of a serialized feature. The header is read using absolute get methods from
+         * the big-endian buffer.
+         */
+        private static class Header {
+            final Type type;
+            final String name;
+            final int nameOffset;
+            final int nameLength;
+            final int valueOffset;
+            final int valueLength;
+
+            private Header(ByteBuffer bb, int offset, int length) {
+                if (length < Integer.BYTES * 2) {
+                    throwBinaryWayTooShort(length);
                 }
-                bb.get(nameBuffer);
-            }
-            final var value = new byte[valueLength];
-            if (valueLength > 0) {
-                if (bb.remaining() < valueLength) {
-                    throwBinaryTooShort(valueLength - bb.remaining());
+                final var end = offset + length;
+                type = typeFrom(bb.getInt(offset));
+                nameLength = bb.getInt(offset + Integer.BYTES);
+                if (nameLength < 0) {
+                    throwBinaryTooLong("Name");
+                }
+                var position = offset + 2 * Integer.BYTES;
+                if (type.fixedSize == VARIABLE_LENGTH) {
+                    if (end - position < Integer.BYTES) {
+                        throw new BufferUnderflowException();
+                    }
+                    valueLength = bb.getInt(position);
+                    position += Integer.BYTES;
+                } else {
+                    valueLength = type.fixedSize;
                 }
-                bb.get(value);
+                if (valueLength < 0) {
+                    throwBinaryTooLong("Value");
+                }
+                nameOffset = position;
+                if (nameLength > 0) {
+                    if (end - position < nameLength) {
+                        throwBinaryTooShort(valueLength + nameLength - (end - position));
+                    }
+                    position += nameLength;
+                }
+                valueOffset = position;
+                if (valueLength > 0) {
+                    if (end - position < valueLength) {
+                        throwBinaryTooShort(valueLength - (end - position));
+                    }
+                    position += valueLength;
+                }
+                if (end - position > 0) {
+                    throwBinaryTooLong(length, end - position);
+                }
+                name = decodeName(bb);
             }
-            if (bb.remaining() > 0) {
-                throwBinaryTooLong(serialized.length, bb.remaining());
+
+            private String decodeName(ByteBuffer bb) {
+                if (bb.hasArray()) {
+                    return new String(bb.array(), bb.arrayOffset() + nameOffset, nameLength, StandardCharsets.UTF_8);
+                }
+                final var bytes = new byte[nameLength];
+                bb.duplicate().position(nameOffset).get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
             }
-            final var name = new String(nameBuffer, StandardCharsets.UTF_8);
-            return new Feature(name, type, value);
         }
 
         public static void throwBinaryWayTooShort(int len) {
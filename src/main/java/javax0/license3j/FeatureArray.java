@@ -0,0 +1,212 @@
+package javax0.license3j;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The features of a license kept in an array sorted by the names of the features.
+ * <p>
+ * The canonical serialized and string forms of a license list the features sorted by their names. Keeping the
+ * features sorted all the time these forms can be created walking the array, without sorting the features again and
+ * again. A feature is found using binary search, which is as fast as a hash lookup for the number of features a
+ * license typically has. A new feature is inserted into its place moving the features after it by one position.
+ * <p>
+ * The class is not thread safe, the same way as {@link License} is not.
+ */
+class FeatureArray {
+    private static final int INITIAL_CAPACITY = 8;
+    private Feature[] features;
+    private int size;
+
+    FeatureArray() {
+        features = new Feature[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Create a copy of the other array. The features themselves are shared.
+     *
+     * @param other the array to copy
+     */
+    FeatureArray(FeatureArray other) {
+        features = Arrays.copyOf(other.features, Math.max(other.size, INITIAL_CAPACITY));
+        size = other.size;
+    }
+
+    /**
+     * @param name the name of the feature
+     * @return the feature or {@code null} if there is no feature with the name
+     */
+    Feature get(String name) {
+        if (name == null) {
+            return null;
+        }
+        final var i = indexOf(features, size, name);
+        return i < 0 ? null : features[i];
+    }
+
+    /**
+     * Put the feature into the array replacing the feature that has the same name, if there is any.
+     *
+     * @param feature the feature to store
+     * @return the replaced feature or {@code null} if there was no feature with the same name
+     */
+    Feature put(Feature feature) {
+        final var i = indexOf(features, size, feature.name());
+        if (i >= 0) {
+            final var previous = features[i];
+            features[i] = feature;
+            return previous;
+        }
+        final var insertAt = -i - 1;
+        if (size == features.length) {
+            features = Arrays.copyOf(features, 2 * size);
+        }
+        System.arraycopy(features, insertAt, features, insertAt + 1, size - insertAt);
+        features[insertAt] = feature;
+        size++;
+        return null;
+    }
+
+    /**
+     * Remove the feature from the array.
+     *
+     * @param name the name of the feature
+     * @return the removed feature or {@code null} if there was no feature with the name
+     */
+    Feature remove(String name) {
+        final var i = indexOf(features, size, name);
+        if (i < 0) {
+            return null;
+        }
+        final var previous = features[i];
+        System.arraycopy(features, i + 1, features, i, size - i - 1);
+        features[--size] = null;
+        return previous;
+    }
+
+    /**
+     * @param excluded the names of the features that are not to be returned
+     * @return a new array of the features in sorted order except those that are excluded
+     */
+    Feature[] sorted(Set<String> excluded) {
+        if (excluded.isEmpty()) {
+            return Arrays.copyOf(features, size);
+        }
+        final var result = new Feature[size];
+        var n = 0;
+        for (int i = 0; i < size; i++) {
+            if (!excluded.contains(features[i].name())) {
+                result[n++] = features[i];
+            }
+        }
+        return n == size ? result : Arrays.copyOf(result, n);
+    }
+
+    /**
+     * @return the size of the serialized license holding these features
+     */
+    int serializedSize() {
+        var size = Integer.BYTES;
+        for (int i = 0; i < this.size; i++) {
+            size += Integer.BYTES + features[i].serializedSize();
+        }
+        return size;
+    }
+
+    /**
+     * Find the feature in the sorted array.
+     *
+     * @return the index of the feature, or {@code (-(insertion point) - 1)} the same way as
+     * {@link Arrays#binarySearch(Object[], Object)} does
+     */
+    private static int indexOf(Feature[] features, int size, String name) {
+        var low = 0;
+        var high = size - 1;
+        while (low <= high) {
+            final var mid = (low + high) >>> 1;
+            final var cmp = features[mid].name().compareTo(name);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Create an unmodifiable map over the sorted features. The map iterates the features in the order of the array,
+     * and it looks up the features using binary search.
+     *
+     * @param sorted the features sorted by their names, the array is not copied and must not be modified
+     * @return the map of the features keyed by their names
+     */
+    static Map<String, Feature> asMap(Feature[] sorted) {
+        return new SortedFeatureMap(sorted);
+    }
+
+    private static class SortedFeatureMap extends AbstractMap<String, Feature> {
+        private final Feature[] features;
+
+        private SortedFeatureMap(Feature[] features) {
+            this.features = features;
+        }
+
+        @Override
+        public Feature get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            final var i = indexOf(features, features.length, (String) key);
+            return i < 0 ? null : features[i];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return features.length;
+        }
+
+        @Override
+        public Set<Entry<String, Feature>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Feature>> iterator() {
+                    return new Iterator<>() {
+                        private int i = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return i < features.length;
+                        }
+
+                        @Override
+                        public Entry<String, Feature> next() {
+                            if (i >= features.length) {
+                                throw new NoSuchElementException();
+                            }
+                            final var feature = features[i++];
+                            return new SimpleImmutableEntry<>(feature.name(), feature);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return features.length;
+                }
+            };
+        }
+    }
+}
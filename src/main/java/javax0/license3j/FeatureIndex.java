@@ -0,0 +1,172 @@
+package javax0.license3j;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * An index over a serialized license that decodes the features only when they are needed.
+ * <p>
+ * The index is created scanning the serialized license once. The scan checks the structure of every feature, and it
+ * records the name and the place of each feature in the array, but it does not copy the values. A feature is decoded
+ * when it is first asked for. The decoded feature is remembered, and it is never decoded again.
+ * <p>
+ * The index can only be created for a license that is in canonical form: the features are sorted by their name, and
+ * there are no duplicates. This is the form that {@link License#serialized()} creates. For such a license, the
+ * serialized form of the decoded license is the same as the original array, thus the serialized and unsigned forms
+ * can be created copying ranges of the original array, without decoding any of the features.
+ * <p>
+ * The decoded features are stored into an array without synchronization. It is safe to use the index from multiple
+ * threads: the state of a {@link Feature} is in final fields, except the lazily calculated values, which are in
+ * volatile fields. Decoding the same feature twice in two threads creates two equivalent objects.
+ */
+class FeatureIndex {
+    /**
+     * The initial size of the arrays collecting the features during the scan, doubled when a license has more.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    private final byte[] array;
+    private final String[] names;
+    /**
+     * The start of the serialized features in the array. The four byte length that precedes the feature in the license
+     * is not included.
+     */
+    private final int[] offsets;
+    private final int[] lengths;
+    private final Feature[] decoded;
+
+    private FeatureIndex(byte[] array, String[] names, int[] offsets, int[] lengths) {
+        this.array = array;
+        this.names = names;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.decoded = new Feature[names.length];
+    }
+
+    /**
+     * Scan the serialized license and create the index.
+     *
+     * @param array the serialized license, it must not be modified afterwards
+     * @param start the position where the first feature starts (right after the magic number)
+     * @return the index, or {@code null} if the license is well-formed, but it is not in canonical form
+     * @throws IllegalArgumentException if the license is not well-formed
+     */
+    static FeatureIndex scan(byte[] array, int start) {
+        var names = new String[INITIAL_CAPACITY];
+        var offsets = new int[INITIAL_CAPACITY];
+        var lengths = new int[INITIAL_CAPACITY];
+        var count = 0;
+        var canonical = true;
+        final var buffer = ByteBuffer.wrap(array);
+        buffer.position(start);
+        while (buffer.hasRemaining()) {
+            if (buffer.remaining() < Integer.BYTES) {
+                throw new IllegalArgumentException("serialized license is corrupt");
+            }
+            final var length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("serialized license is corrupt");
+            }
+            final var offset = buffer.position();
+            final var name = Feature.Create.canonicalNameFrom(array, offset, length);
+            buffer.position(offset + length);
+            if (canonical && (name == null || (count > 0 && names[count - 1].compareTo(name) >= 0))) {
+                canonical = false;
+            }
+            if (count == names.length) {
+                names = Arrays.copyOf(names, 2 * count);
+                offsets = Arrays.copyOf(offsets, 2 * count);
+                lengths = Arrays.copyOf(lengths, 2 * count);
+            }
+            names[count] = name;
+            offsets[count] = offset;
+            lengths[count] = length;
+            count++;
+        }
+        if (!canonical) {
+            return null;
+        }
+        return new FeatureIndex(array, Arrays.copyOf(names, count), Arrays.copyOf(offsets, count),
+                Arrays.copyOf(lengths, count));
+    }
+
+    /**
+     * @param name the name of the feature
+     * @return the decoded feature or {@code null} if there is no feature with the name
+     */
+    Feature get(String name) {
+        if (name == null) {
+            return null;
+        }
+        final var i = Arrays.binarySearch(names, name);
+        return i < 0 ? null : feature(i);
+    }
+
+    private Feature feature(int i) {
+        var feature = decoded[i];
+        if (feature == null) {
+            feature = Feature.Create.from(array, offsets[i], lengths[i]);
+            decoded[i] = feature;
+        }
+        return feature;
+    }
+
+    /**
+     * @param excluded the names of the features that are not to be returned
+     * @return all the features decoded, in sorted order, except those that are excluded
+     */
+    Feature[] featuresSorted(Set<String> excluded) {
+        final var features = new ArrayList<Feature>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            if (!excluded.contains(names[i])) {
+                features.add(feature(i));
+            }
+        }
+        return features.toArray(new Feature[0]);
+    }
+
+    /**
+     * @return the size of the serialized license
+     */
+    int serializedSize() {
+        return array.length;
+    }
+
+    /**
+     * Create the serialized license copying the original bytes except the ranges of the excluded features.
+     *
+     * @param excluded the names of the features that are not to be included
+     * @return the serialized license
+     */
+    byte[] serialized(Set<String> excluded) {
+        var size = array.length;
+        for (int i = 0; i < names.length; i++) {
+            if (excluded.contains(names[i])) {
+                size -= Integer.BYTES + lengths[i];
+            }
+        }
+        final var result = new byte[size];
+        final var first = offsets.length == 0 ? array.length : offsets[0] - Integer.BYTES;
+        System.arraycopy(array, 0, result, 0, first);
+        var position = first;
+        for (int i = 0; i < names.length; i++) {
+            if (!excluded.contains(names[i])) {
+                final var start = offsets[i] - Integer.BYTES;
+                final var length = Integer.BYTES + lengths[i];
+                System.arraycopy(array, start, result, position, length);
+                position += length;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Copy the serialized license into the buffer.
+     *
+     * @param buffer the target buffer
+     */
+    void serialize(ByteBuffer buffer) {
+        buffer.put(array);
+    }
+}
@@ -0,0 +1,145 @@
+package javax0.license3j;
+
+import java.nio.ByteBuffer;
+import java.security.PrivateKey;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An immutable snapshot of a license. Create one calling {@link License#freeze()}.
+ * <p>
+ * A frozen license calculates the canonical serialized form, the unsigned form, the fingerprint and the string
+ * representation only once, when it is created. The methods returning these values later return the stored values
+ * without recalculation. Since the object cannot be modified it is safe to share between threads.
+ * <p>
+ * All methods that would modify the license throw {@link UnsupportedOperationException}. To modify a frozen license
+ * create a new mutable copy of it using {@link #thaw()}.
+ * <p>
+ * The byte arrays returned by {@link #serialized()}, {@link #unsigned()} and {@link #getSignature()} are copies, the
+ * caller may modify them without altering the frozen license. The array returned by {@link Feature#getBinary()} of a
+ * {@code BINARY} feature, however, is the value of the feature itself and must not be modified.
+ */
+public final class FrozenLicense extends License {
+    private final byte[] serialized;
+    private final byte[] unsigned;
+    private final UUID fingerprint;
+    private final String string;
+    private final Map<String, Feature> featureMap;
+    private final int hash;
+
+    FrozenLicense(License license) {
+        super(detached(license));
+        this.serialized = super.serialized();
+        this.unsigned = super.unsigned();
+        this.fingerprint = super.fingerprint();
+        this.string = super.toString();
+        this.featureMap = super.getFeatures();
+        this.hash = Arrays.hashCode(serialized);
+    }
+
+    /**
+     * Create a copy of the license that does not share any mutable object with the original. The features are
+     * immutable except the value of the {@code BINARY} features that can be modified through the array returned by
+     * {@link Feature#getBinary()}, and the {@link Feature#isView() views}, which read the value from the buffer of the
+     * caller. These features are copied.
+     *
+     * @param license the original license
+     * @return the new license that has copies of the binary and view features
+     */
+    private static License detached(License license) {
+        final var copy = new License();
+        for (final var feature : license.getFeatures().values()) {
+            if (feature.isBinary() || feature.isView()) {
+                copy.add(feature.ownedCopy());
+            } else {
+                copy.add(feature);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * @return this object, it is already frozen
+     */
+    @Override
+    public FrozenLicense freeze() {
+        return this;
+    }
+
+    /**
+     * Create a new, mutable license that has the same features as this frozen license.
+     *
+     * @return the new license
+     */
+    public License thaw() {
+        return detached(this);
+    }
+
+    @Override
+    public Feature add(Feature feature) {
+        throw new UnsupportedOperationException("Frozen license cannot be modified.");
+    }
+
+    @Override
+    public void sign(PrivateKey key, String digest) {
+        throw new UnsupportedOperationException("Frozen license cannot be signed.");
+    }
+
+    @Override
+    public byte[] serialized() {
+        return serialized.clone();
+    }
+
+    @Override
+    public byte[] unsigned() {
+        return unsigned.clone();
+    }
+
+    @Override
+    public int serializedSize() {
+        return serialized.length;
+    }
+
+    @Override
+    public void serialize(ByteBuffer buffer) {
+        buffer.put(serialized);
+    }
+
+    @Override
+    public UUID fingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public String toString() {
+        return string;
+    }
+
+    @Override
+    public Map<String, Feature> getFeatures() {
+        return featureMap;
+    }
+
+    @Override
+    public byte[] getSignature() {
+        return super.getSignature().clone();
+    }
+
+    /**
+     * Two frozen licenses are equal if their serialized forms are the same.
+     *
+     * @param o the other object
+     * @return {@code true} if the other object is a frozen license with the same features
+     */
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof FrozenLicense && hash == ((FrozenLicense) o).hash
+                && Arrays.equals(serialized, ((FrozenLicense) o).serialized));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -3,11 +3,21 @@ package javax0.license3j;
 import javax0.license3j.hardware.CloudProvider;
 import javax0.license3j.hardware.Network;
 import javax0.license3j.hardware.UUIDCalculator;
+import javax0.license3j.metrics.Metrics;
+import javax0.license3j.metrics.Operation;
 
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 /**
  * The hardware binder binds a license to a certain hardware. The use of this
@@ -23,16 +33,79 @@ import java.util.UUID;
  * Therefore it is a recommended practice to note the difference of UUID in the
  * license and the calculated one and send it to the log, but do not deter the operation of the
  * software.
+ * <p>
+ * Calculating the machine UUID lists the network interfaces, resolves the host name and may query the metadata
+ * service of the cloud provider. Applications checking the hardware binding often can switch on caching calling
+ * {@link #cacheFor(Duration)}. The configuration of the binder should be finished before the binder is used from
+ * several threads. The calculation and the caching are safe for concurrent callers.
  */
 public class HardwareBinder {
 
+    /**
+     * Calculates the fingerprint of the network interfaces, see {@link Network#fingerprint()}.
+     */
+    @FunctionalInterface
+    interface InterfaceFingerprint {
+        long get() throws SocketException;
+    }
+
+    /**
+     * The cached machine id along with what it was calculated from.
+     */
+    private static class CachedId {
+        private final UUID id;
+        private final int generation;
+        private final long fingerprint;
+        private final long checkedAt;
+
+        private CachedId(UUID id, int generation, long fingerprint, long checkedAt) {
+            this.id = id;
+            this.generation = generation;
+            this.fingerprint = fingerprint;
+            this.checkedAt = checkedAt;
+        }
+    }
+
     private final Network.Interface.Selector selector = new Network.Interface.Selector();
-    private final UUIDCalculator calculator = new UUIDCalculator(selector);
+    private final UUIDCalculator calculator;
+    private final LongSupplier clock;
+    private final InterfaceFingerprint interfaceFingerprint;
+
+    private volatile boolean useHostName = true;
+    private volatile boolean useNetwork = true;
+    private volatile boolean useArchitecture = true;
+    private volatile CloudProvider cloudProvider;
+
+    /**
+     * Negative when the machine id is not cached.
+     */
+    private volatile long ttlNanos = -1;
+    private final AtomicReference<CachedId> cached = new AtomicReference<>();
+    /**
+     * Incremented each time the configuration changes, a cached id calculated with an older configuration is not
+     * used.
+     */
+    private final AtomicInteger generation = new AtomicInteger();
+    /**
+     * Held by the thread recalculating the cached id. It is a lock and not a monitor, because the recalculation may
+     * query the network and the cloud metadata service, and a virtual thread waiting on a monitor pins its carrier.
+     */
+    private final ReentrantLock recalculating = new ReentrantLock();
 
-    private boolean useHostName = true;
-    private boolean useNetwork = true;
-    private boolean useArchitecture = true;
-    private CloudProvider cloudProvider;
+    public HardwareBinder() {
+        this(System::nanoTime, Network::fingerprint);
+    }
+
+    HardwareBinder(LongSupplier clock, InterfaceFingerprint interfaceFingerprint) {
+        this(clock, interfaceFingerprint, UUIDCalculator::new);
+    }
+
+    HardwareBinder(LongSupplier clock, InterfaceFingerprint interfaceFingerprint,
+                   Function<Network.Interface.Selector, UUIDCalculator> calculator) {
+        this.clock = clock;
+        this.interfaceFingerprint = interfaceFingerprint;
+        this.calculator = calculator.apply(selector);
+    }
 
     /**
      * A very simple main that prints out the machine UUID to the standard output.
@@ -82,6 +155,7 @@ public class HardwareBinder {
      */
     public HardwareBinder allowed(String regex) {
         selector.interfaceAllowed(regex);
+        generation.incrementAndGet();
         return this;
     }
 
@@ -94,9 +168,45 @@ public class HardwareBinder {
      */
     public HardwareBinder forCloudProvider(CloudProvider cloudProvider) {
         this.cloudProvider = cloudProvider;
+        generation.incrementAndGet();
         return this;
     }
 
+    /**
+     * Cache the machine UUID.
+     * <p>
+     * When the cache is on the machine UUID calculated by {@link #getMachineId()} is reused for the time to live
+     * without any check. When the time is over, the fingerprint of the network interfaces is calculated (see
+     * {@link Network#fingerprint()}). The machine UUID is calculated again only if the fingerprint has changed since
+     * the last calculation, otherwise the cached UUID is used for another period.
+     * <p>
+     * Note that a change of the host name or the cloud instance id alone is not detected. Call
+     * {@link #invalidateCache()} when such a change is expected.
+     * <p>
+     * Changing the configuration of the binder (e.g. calling {@link #denied(String)} or {@link #ignore}) drops the
+     * cached UUID.
+     *
+     * @param ttl the time the cached UUID is used without checking the network interfaces. Zero means that the
+     *            fingerprint is checked on each call.
+     * @return the HardwareBinder object so method calls can be chained
+     */
+    public HardwareBinder cacheFor(Duration ttl) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("The time to live cannot be negative, it was " + ttl);
+        }
+        ttlNanos = ttl.toNanos();
+        return this;
+    }
+
+    /**
+     * Drop the cached machine UUID. The next call calculates the UUID again. A calculation that is already running
+     * does not store its result in the cache.
+     */
+    public void invalidateCache() {
+        generation.incrementAndGet();
+        cached.set(null);
+    }
+
     /**
      * Add a regular expression to the set of the regular expressions that are
      * checked against the display name of the network interface cards. If any
@@ -112,6 +222,7 @@ public class HardwareBinder {
      */
     public HardwareBinder denied(String regex) {
         selector.interfaceDenied(regex);
+        generation.incrementAndGet();
         return this;
     }
 
@@ -127,6 +238,7 @@ public class HardwareBinder {
          */
         public HardwareBinder hostName() {
             useHostName = false;
+            generation.incrementAndGet();
             return HardwareBinder.this;
         }
 
@@ -142,6 +254,7 @@ public class HardwareBinder {
          */
         public HardwareBinder network() {
             useNetwork = false;
+            generation.incrementAndGet();
             return HardwareBinder.this;
         }
 
@@ -154,6 +267,7 @@ public class HardwareBinder {
          */
         public HardwareBinder architecture() {
             useArchitecture = false;
+            generation.incrementAndGet();
             return HardwareBinder.this;
         }
     }
@@ -181,6 +295,137 @@ public class HardwareBinder {
      */
     public UUID getMachineId() throws NoSuchAlgorithmException,
         SocketException, UnknownHostException {
+        final var metrics = Metrics.current();
+        final var start = metrics.start();
+        try {
+            return cachedOrCalculated();
+        } catch (NoSuchAlgorithmException | SocketException | UnknownHostException | RuntimeException e) {
+            metrics.failure(Operation.MACHINE_ID, e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            metrics.stop(Operation.MACHINE_ID, start);
+        }
+    }
+
+    /**
+     * The machine id is timed here and not in the {@link UUIDCalculator}, so that the returns from the cache are also
+     * counted and timed, and the latency reported for {@link Operation#MACHINE_ID} is what the callers see.
+     *
+     * @return the cached or the calculated machine id
+     */
+    private UUID cachedOrCalculated() throws NoSuchAlgorithmException, SocketException, UnknownHostException {
+        final var ttlNanos = this.ttlNanos;
+        if (ttlNanos < 0) {
+            return calculate();
+        }
+        final var cached = this.cached.get();
+        if (cached != null && cached.generation == generation.get()
+            && clock.getAsLong() - cached.checkedAt < ttlNanos) {
+            return cached.id;
+        }
+        return recalculate(ttlNanos);
+    }
+
+    /**
+     * Calculate the UUID for the machine asynchronously. The cloud instance id, the network data and the host name are
+     * collected concurrently, see
+     * {@link UUIDCalculator#getMachineIdAsync(CloudProvider, boolean, boolean, boolean, Duration)}. The result is the
+     * same as the one of {@link #getMachineId()}.
+     * <p>
+     * When the UUID is {@link #cacheFor(Duration) cached} and the cached value is still valid, the returned future is
+     * already completed. Otherwise the calculated UUID is stored in the cache, unless the configuration was changed,
+     * the cache was invalidated or another call stored a newer UUID while this one was calculated.
+     *
+     * @param timeout the maximum time to wait for each component of the UUID
+     * @return the future UUID of the machine
+     */
+    public CompletableFuture<UUID> getMachineIdAsync(Duration timeout) {
+        final var metrics = Metrics.current();
+        final var start = metrics.start();
+        final var ttlNanos = this.ttlNanos;
+        final var cached = this.cached.get();
+        final var generation = this.generation.get();
+        if (ttlNanos >= 0 && cached != null && cached.generation == generation
+            && clock.getAsLong() - cached.checkedAt < ttlNanos) {
+            metrics.stop(Operation.MACHINE_ID, start);
+            return CompletableFuture.completedFuture(cached.id);
+        }
+        var future = calculator.getMachineIdAsync(cloudProvider, useNetwork, useHostName, useArchitecture, timeout);
+        if (ttlNanos >= 0) {
+            future = future.thenApply(id -> {
+                store(id, generation, cached);
+                return id;
+            });
+        }
+        return future.whenComplete((id, e) -> {
+            if (e != null) {
+                metrics.failure(Operation.MACHINE_ID,
+                    (e instanceof CompletionException && e.getCause() != null ? e.getCause() : e)
+                        .getClass().getSimpleName());
+            }
+            metrics.stop(Operation.MACHINE_ID, start);
+        });
+    }
+
+    /**
+     * Store an id calculated asynchronously. It does not wait for a concurrent {@link #recalculate(long)}. The id is
+     * stored only if the cache still holds the entry that was there when the calculation started, thus a result
+     * completing late does not overwrite a newer one.
+     *
+     * @param id         the calculated id
+     * @param generation the generation of the configuration the id was calculated with
+     * @param previous   the cached entry when the calculation started
+     */
+    private void store(UUID id, int generation, CachedId previous) {
+        try {
+            final var fingerprint = interfaceFingerprint.get();
+            if (this.generation.get() == generation) {
+                cached.compareAndSet(previous, new CachedId(id, generation, fingerprint, clock.getAsLong()));
+            }
+        } catch (SocketException e) {
+            // without a fingerprint the id is not cached, the next call calculates it again
+        }
+    }
+
+    /**
+     * Check the fingerprint of the interfaces and calculate the machine id if it has changed. Only one thread does it
+     * at a time, the others waiting use the id the first one has calculated.
+     *
+     * @param ttlNanos the time to live of the cached id
+     * @return the machine id
+     */
+    private UUID recalculate(long ttlNanos) throws NoSuchAlgorithmException,
+        SocketException, UnknownHostException {
+        recalculating.lock();
+        try {
+            final var generation = this.generation.get();
+            final var cached = this.cached.get();
+            if (cached != null && cached.generation == generation && clock.getAsLong() - cached.checkedAt < ttlNanos) {
+                return cached.id;
+            }
+            final var fingerprint = interfaceFingerprint.get();
+            final UUID id;
+            if (cached != null && cached.generation == generation && cached.fingerprint == fingerprint) {
+                id = cached.id;
+            } else {
+                id = calculate();
+            }
+            this.cached.set(new CachedId(id, generation, fingerprint, clock.getAsLong()));
+            return id;
+        } finally {
+            recalculating.unlock();
+        }
+    }
+
+    /**
+     * @return the time the cached id was checked last or {@code -1} if there is no cached id, for the tests
+     */
+    long cachedAt() {
+        final var cached = this.cached.get();
+        return cached == null ? -1 : cached.checkedAt;
+    }
+
+    private UUID calculate() throws NoSuchAlgorithmException, SocketException, UnknownHostException {
         return calculator.getMachineId(cloudProvider, useNetwork, useHostName, useArchitecture);
     }
 
@@ -194,7 +439,7 @@ public class HardwareBinder {
      */
     public String getMachineIdString() throws NoSuchAlgorithmException,
         SocketException, UnknownHostException {
-        return calculator.getMachineIdString(cloudProvider, useNetwork, useHostName, useArchitecture);
+        return getMachineId().toString();
     }
 
     /**
@@ -209,7 +454,7 @@ public class HardwareBinder {
     public boolean assertUUID(final UUID uuid)
         throws NoSuchAlgorithmException, SocketException,
         UnknownHostException {
-        return calculator.assertUUID(uuid, cloudProvider, useNetwork, useHostName, useArchitecture);
+        return uuid != null && uuid.equals(getMachineId());
     }
 
     /**
@@ -219,7 +464,11 @@ public class HardwareBinder {
      * @return true if the argument passed is the uuid of the current machine.
      */
     public boolean assertUUID(final String uuid) {
-        return calculator.assertUUID(uuid, cloudProvider, useNetwork, useHostName, useArchitecture);
+        try {
+            return assertUUID(UUID.fromString(uuid));
+        } catch (Exception e) {
+            return false;
+        }
     }
 
 }
@@ -1,17 +1,22 @@
 package javax0.license3j;
 
-import javax0.license3j.crypto.LicenseKeyPair;
+import javax0.license3j.crypto.CryptoEngine;
+import javax0.license3j.jfr.VerificationEvent;
+import javax0.license3j.metrics.Metrics;
+import javax0.license3j.metrics.Operation;
 
 import javax.crypto.BadPaddingException;
-import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.StringReader;
-import java.lang.reflect.Modifier;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.security.*;
 import java.util.*;
 
@@ -31,16 +36,27 @@ public class License {
     private static final String LICENSE_ID = "licenseId"; // the unique id of the license (`UUID`)
     private static final String SIGNATURE_KEY = "licenseSignature"; // the signature of the license (`BINARY`)
     private static final String DIGEST_KEY = "signatureDigest"; // the digest of the license that was signed (`STRING`)
+    private static final String SIGNATURE_ALGORITHM_KEY = "signatureAlgorithm"; // the java.security.Signature algorithm, if used (`STRING`)
     final private static String EXPIRATION_DATE = "expiryDate"; // the expiry date of the license (`DATE`)
     // end snippet
-    private static final Set<String> FINGERPRINT_EXCLUDED_KEYS = new HashSet<>(Arrays.asList(SIGNATURE_KEY, DIGEST_KEY));
-    final private Map<String, Feature> features = new HashMap<>();
+    private static final Set<String> FINGERPRINT_EXCLUDED_KEYS = new HashSet<>(Arrays.asList(SIGNATURE_KEY, DIGEST_KEY,
+            SIGNATURE_ALGORITHM_KEY));
+    final private FeatureArray features;
+    /**
+     * The index of the not yet decoded features when the license was created by {@link Create#lazyFrom(byte[])}. It is
+     * {@code null} when all the features are in the map {@link #features}.
+     */
+    private FeatureIndex index;
+    private static volatile VerificationCache verificationCache;
+    private static final PublicKeyCache publicKeys = new PublicKeyCache(64);
 
     public License() {
+        features = new FeatureArray();
     }
 
     protected License(License license) {
-        features.putAll(license.features);
+        features = new FeatureArray(license.features);
+        index = license.index;
     }
 
     /**
@@ -51,10 +67,25 @@ public class License {
      * @return the feature object.
      */
     public Feature get(String name) {
+        final var index = this.index;
+        if (index != null) {
+            return index.get(name);
+        }
         return features.get(name);
     }
 
 
+    /**
+     * Create an immutable snapshot of the license. The snapshot calculates the serialized, unsigned forms, and the
+     * fingerprint of the license once, and it can be shared between threads. Later modifications of this license do
+     * not affect the snapshot.
+     *
+     * @return the frozen copy of the license
+     */
+    public FrozenLicense freeze() {
+        return new FrozenLicense(this);
+    }
+
     /**
      * Checks the expiration date of the license and returns {@code true} if the license has expired.
      * <p>
@@ -101,6 +132,19 @@ public class License {
      *
      * <li>The encrypted digest is added to the license as a new {@code BINARY} feature as signature.</li>
      * </ol>
+     * <p>
+     * The steps above are used for RSA keys, and the format of these signatures is the same as in the earlier versions
+     * of the library. Other keys, like EC (e.g. P-256) and EdDSA (e.g. Ed25519) keys, cannot encrypt, and they are
+     * used with {@link java.security.Signature}. In this case the name of the signature algorithm (e.g.
+     * {@code SHA256withECDSA} or {@code EdDSA}) is added to the license as a feature named <!--CODE
+     * SIGNATURE_ALGORITHM_KEY-->{@code signatureAlgorithm}, and the signature of the binary license is added as the
+     * signature feature. {@link #isOK(PublicKey)} uses the algorithm named by this feature to check the signature.
+     * These signatures are much shorter and faster to create than RSA signatures. The {@code signatureDigest} feature
+     * is not added in this case, the digest is part of the signature algorithm for EC and DSA keys (see
+     * {@link CryptoEngine#signatureAlgorithm(String, String)}), and it is ignored for EdDSA keys, which have the digest
+     * built in.
+     * <p>
+     * If the signing fails, the license keeps the features it had before the call.
      *
      * @param key    the private key to be used to create the signature
      * @param digest the name of the digest algorithm
@@ -112,27 +156,55 @@ public class License {
      */
     public void sign(PrivateKey key, String digest) throws NoSuchAlgorithmException, NoSuchPaddingException,
             InvalidKeyException, BadPaddingException, IllegalBlockSizeException {
-        add(Feature.Create.stringFeature(DIGEST_KEY, digest));
-        final var digester = MessageDigest.getInstance(digest);
-        final var ser = unsigned();
-        final var digestValue = digester.digest(ser);
-        final var cipher = Cipher.getInstance(key.getAlgorithm());
-        cipher.init(Cipher.ENCRYPT_MODE, key);
-        final var signature = cipher.doFinal(digestValue);
-        add(signature);
+        final var metrics = Metrics.current();
+        final var start = metrics.start();
+        Feature previousDigest = null;
+        Feature previousAlgorithm = null;
+        var modified = false;
+        try {
+            final var signatureAlgorithm = CryptoEngine.signatureAlgorithm(key.getAlgorithm(), digest);
+            previousDigest = get(DIGEST_KEY);
+            previousAlgorithm = get(SIGNATURE_ALGORITHM_KEY);
+            modified = true;
+            // the features naming the algorithms are part of the signed data, they are set before the signing
+            final byte[] signature;
+            if (signatureAlgorithm == null) {
+                remove(SIGNATURE_ALGORITHM_KEY);
+                add(Feature.Create.stringFeature(DIGEST_KEY, digest));
+                final var digestValue = CryptoEngine.digest(digest, unsigned());
+                signature = CryptoEngine.encrypt(key.getAlgorithm(), key, digestValue);
+            } else {
+                remove(DIGEST_KEY);
+                add(Feature.Create.stringFeature(SIGNATURE_ALGORITHM_KEY, signatureAlgorithm));
+                signature = CryptoEngine.sign(signatureAlgorithm, key, unsigned());
+            }
+            add(signature);
+        } catch (Exception e) {
+            if (modified) {
+                restore(DIGEST_KEY, previousDigest);
+                restore(SIGNATURE_ALGORITHM_KEY, previousAlgorithm);
+            }
+            metrics.failure(Operation.SIGN, e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            metrics.stop(Operation.SIGN, start);
+        }
     }
 
     /**
      * See {@link #isOK(PublicKey)}.
+     * <p>
+     * The decoded keys are cached, thus calling this method many times with the same key decodes the key only once.
      *
      * @param key serialized encryption key to check the authenticity of the license signature
      * @return see {@link #isOK(PublicKey)}
      */
     public boolean isOK(byte[] key) {
         try {
-            LicenseKeyPair lkp = LicenseKeyPair.Create.from(key, Modifier.PUBLIC);
+            final var lkp = publicKeys.get(key);
             return isOK(lkp.getPair().getPublic(), lkp.cipher());
         } catch (Exception e) {
+            Metrics.current().failure(Operation.VERIFY, "INVALID_KEY");
             return false;
         }
     }
@@ -149,20 +221,125 @@ public class License {
         return isOK(key, key.getAlgorithm());
     }
 
+    /**
+     * Install a process-wide cache for the results of the signature verification. When a cache is installed the
+     * methods {@link #isOK(PublicKey)} and {@link #isOK(byte[])} perform the cryptographic check only once for the same
+     * license and key while the verdict is in the cache. See {@link VerificationCache} for the details.
+     *
+     * @param cache the cache to be used or {@code null} to switch off caching
+     */
+    public static void setVerificationCache(VerificationCache cache) {
+        verificationCache = cache;
+    }
+
     private boolean isOK(PublicKey key, String algorithm) {
+        final var metrics = Metrics.current();
+        final var start = metrics.start();
+        final var event = VerificationEvent.start();
+        BulkVerifier.Reason reason = null;
         try {
-            final var digester = MessageDigest.getInstance(get(DIGEST_KEY).getString());
-            final var ser = unsigned();
-            final var digestValue = digester.digest(ser);
-            final var cipher = Cipher.getInstance(algorithm);
-            cipher.init(Cipher.DECRYPT_MODE, key);
-            final var sigDigest = cipher.doFinal(getSignature());
-            return Arrays.equals(digestValue, sigDigest);
-        } catch (Exception e) {
-            return false;
+            final var cache = verificationCache;
+            reason = cache == null ? verify(key, algorithm)
+                    : cache.verdict(this, key, algorithm, () -> verify(key, algorithm));
+            return reason == BulkVerifier.Reason.OK;
+        } finally {
+            metrics.stop(Operation.VERIFY, start);
+            if (event != null && event.shouldCommit()) {
+                event.algorithm = algorithm;
+                event.featureCount = featuresSorted(Collections.emptySet()).length;
+                event.byteSize = serializedSize();
+                event.outcome = reason == null ? null : reason.name();
+                event.commit();
+            }
         }
     }
 
+    private BulkVerifier.Reason verify(PublicKey key, String algorithm) {
+        final var reason = verdict(new PublicKey[]{key}, new String[]{algorithm});
+        if (reason != BulkVerifier.Reason.OK) {
+            Metrics.current().failure(Operation.VERIFY, reason.name());
+        }
+        return reason;
+    }
+
+    /**
+     * Check the signature of the license trying the keys one after the other. The digest of the license is calculated
+     * only once.
+     *
+     * @param keys       the public keys to try
+     * @param algorithms the algorithms to use with the keys, the same index as the key
+     * @return {@link BulkVerifier.Reason#OK} if the signature can be checked with any of the keys, otherwise the reason
+     * why the license is not OK.
+     */
+    BulkVerifier.Reason verdict(PublicKey[] keys, String[] algorithms) {
+        final var signature = get(SIGNATURE_KEY);
+        if (signature == null) {
+            return BulkVerifier.Reason.MISSING_SIGNATURE;
+        }
+        final var signatureAlgorithm = get(SIGNATURE_ALGORITHM_KEY);
+        if (signatureAlgorithm != null) {
+            return signatureVerdict(keys, signatureAlgorithm, signature);
+        }
+        final var digest = get(DIGEST_KEY);
+        if (digest == null || !digest.isString()) {
+            return BulkVerifier.Reason.MISSING_DIGEST;
+        }
+        final byte[] digestValue;
+        try {
+            digestValue = CryptoEngine.digest(digest.getString(), unsigned());
+        } catch (NoSuchAlgorithmException e) {
+            return BulkVerifier.Reason.UNSUPPORTED_ALGORITHM;
+        }
+        final var signatureValue = signature.getBinary();
+        var reason = BulkVerifier.Reason.UNKNOWN_KEY;
+        for (int i = 0; i < keys.length; i++) {
+            try {
+                final var sigDigest = CryptoEngine.decrypt(algorithms[i], keys[i], signatureValue);
+                if (Arrays.equals(digestValue, sigDigest)) {
+                    return BulkVerifier.Reason.OK;
+                }
+                reason = BulkVerifier.Reason.BAD_SIGNATURE;
+            } catch (Exception ignored) {
+                // the signature was not created with this key
+            }
+        }
+        return reason;
+    }
+
+    /**
+     * Check a signature created with {@link java.security.Signature}, see {@link #sign(PrivateKey, String)}.
+     * <p>
+     * {@link java.security.Signature#verify(byte[])} only tells that the signature does not match the data and the
+     * key. It cannot tell a license signed with a different key from a license modified after signing. When none of
+     * the keys verify the signature the result is {@link BulkVerifier.Reason#UNKNOWN_KEY} in both cases.
+     *
+     * @param keys               the public keys to try
+     * @param signatureAlgorithm the feature holding the name of the signature algorithm
+     * @param signature          the feature holding the signature
+     * @return {@link BulkVerifier.Reason#OK} if the signature can be checked with any of the keys, otherwise the reason
+     * why the license is not OK.
+     */
+    private BulkVerifier.Reason signatureVerdict(PublicKey[] keys, Feature signatureAlgorithm, Feature signature) {
+        if (!signatureAlgorithm.isString()) {
+            return BulkVerifier.Reason.UNSUPPORTED_ALGORITHM;
+        }
+        final var algorithm = signatureAlgorithm.getString();
+        final var data = unsigned();
+        final var signatureValue = signature.getBinary();
+        for (final var key : keys) {
+            try {
+                if (CryptoEngine.verify(algorithm, key, data, signatureValue)) {
+                    return BulkVerifier.Reason.OK;
+                }
+            } catch (NoSuchAlgorithmException e) {
+                return BulkVerifier.Reason.UNSUPPORTED_ALGORITHM;
+            } catch (Exception ignored) {
+                // the key cannot be used with the algorithm
+            }
+        }
+        return BulkVerifier.Reason.UNKNOWN_KEY;
+    }
+
     /**
      * Add a feature to the license. Note that adding a feature to a license renders the license signature invalid.
      * Adding the feature does not remove the signature feature though if there was any added previously. You can
@@ -181,7 +358,26 @@ public class License {
         if (feature.name().equals(SIGNATURE_KEY) && !feature.isBinary()) {
             throw new IllegalArgumentException("Signature of a license has to be binary.");
         }
-        return features.put(feature.name(), feature);
+        decodeAll();
+        return features.put(feature);
+    }
+
+    /**
+     * Remove a feature from the license.
+     *
+     * @param name the name of the feature
+     */
+    private void remove(String name) {
+        decodeAll();
+        features.remove(name);
+    }
+
+    private void restore(String name, Feature feature) {
+        if (feature == null) {
+            remove(name);
+        } else {
+            add(feature);
+        }
     }
 
     /**
@@ -224,28 +420,42 @@ public class License {
      */
     @Override
     public String toString() {
-        final var sb = new StringBuilder();
-        Feature[] features = featuresSorted(Collections.emptySet());
-        for (Feature feature : features) {
-            final var valueString = feature.valueString();
-            final String value =
-                    valueString.contains("\n") || valueString.startsWith("<<")
-                            ? multilineValueString(valueString) : valueString;
-            sb.append(feature.toStringWith(value)).append("\n");
+        final var sw = new StringWriter();
+        try {
+            writeTo(sw);
+        } catch (IOException e) {
+            // StringWriter does not throw IOException
+            throw new UncheckedIOException(e);
         }
-        return sb.toString();
+        return sw.toString();
     }
 
     /**
-     * Get all the features in an array except the excluded ones in sorted order. The sorting is done on the name. This
-     * is a private method and the actual sorting order is not guaranteed by the public API.
+     * Write the license in the text format that {@link #toString()} returns. The text is written directly to the
+     * writer, the string representation of the whole license is not created in memory. The values of the
+     * {@code BINARY} features are base64 encoded in chunks.
+     *
+     * @param writer the writer to write the license to. It is neither flushed nor closed.
+     * @throws IOException if the writer throws
+     */
+    public void writeTo(Writer writer) throws IOException {
+        LicenseTextWriter.write(featuresSorted(Collections.emptySet()), writer);
+    }
+
+    /**
+     * Get all the features in an array except the excluded ones in sorted order. The features are stored sorted by
+     * their names, thus this is a linear walk. This is a private method and the actual sorting order is not guaranteed
+     * by the public API.
      *
      * @param excluded the set of the names of the features that are not included to the result array
      * @return the array of the features sorted.
      */
     private Feature[] featuresSorted(Set<String> excluded) {
-        return this.features.values().stream().filter(f -> !excluded.contains(f.name()))
-                .sorted(Comparator.comparing(Feature::name)).toArray(Feature[]::new);
+        final var index = this.index;
+        if (index != null) {
+            return index.featuresSorted(excluded);
+        }
+        return features.sorted(excluded);
     }
 
 
@@ -254,49 +464,32 @@ public class License {
      * map are the names of the features. The values are the feature
      * objects (which also contain the name).</p>
      *
-     * <p>Note that the invocation of this method has its cost as it
-     * recreates the returned map every time. It does not keep track if
-     * the set of features has changed since the last time the method
-     * was called.</p>
+     * <p>The returned map is an unmodifiable snapshot. It iterates the
+     * features sorted by their names. Later modifications of the license
+     * are not reflected in the map.</p>
      *
      * @return the collected map
      */
     public Map<String, Feature> getFeatures() {
-        return Collections.unmodifiableMap(new TreeMap<>(features));
+        return FeatureArray.asMap(featuresSorted(Collections.emptySet()));
     }
 
-
     /**
-     * Converts a possibly multi-line string to a multi-line representation of a feature value. For more information on
-     * how multi-line strings are stored as values see {@link #toString()}. The HERE_STRING value is calculated so that
-     * it is as short as possible containing the characters {@code A} and {@code B} only so that it never appears in the
-     * actual multi-line string.
-     *
-     * @param s the multi-line string to be converted
-     * @return the converted string with the leading {@code <<HERE_STRING} line and the terminating
-     * {@code HERE_STRING} line.
+     * Decode all the features of a lazily decoded license and drop the index. After this the license is the same as
+     * one created eagerly. This is needed before the license is modified, because the index reflects the original
+     * serialized license.
      */
-    private String multilineValueString(String s) {
-        List<String> lines = new ArrayList<>(Arrays.asList(s.split("\n")));
-        final var sb = new StringBuilder();
-        var i = 0;
-        for (final var line : lines) {
-            sb.append(line.length() <= i || line.charAt(i) == 'A' ? 'B' : 'A');
-            i++;
-        }
-        final var delimiter = sb.toString();
-        String shortDelimiter = null;
-        for (int j = 1; j < delimiter.length(); j++) {
-            if (!lines.contains(delimiter.substring(0, j))) {
-                shortDelimiter = delimiter.substring(0, j);
-                break;
+    private void decodeAll() {
+        final var index = this.index;
+        if (index != null) {
+            for (final var feature : index.featuresSorted(Collections.emptySet())) {
+                features.put(feature);
             }
+            this.index = null;
         }
-        lines.add(0, "<<" + shortDelimiter);
-        lines.add(shortDelimiter);
-        return String.join("\n", lines);
     }
 
+
     /**
      * Generates a new license identifier.
      *
@@ -381,8 +574,7 @@ public class License {
      */
     public UUID fingerprint() {
         try {
-            final var bb = ByteBuffer.wrap(MessageDigest.getInstance("MD5").digest(
-                    serialized(FINGERPRINT_EXCLUDED_KEYS)));
+            final var bb = ByteBuffer.wrap(CryptoEngine.digest("MD5", serialized(FINGERPRINT_EXCLUDED_KEYS)));
             final var ms = bb.getLong();
             final var ls = bb.getLong();
             return new UUID(ms, ls);
@@ -476,24 +668,72 @@ public class License {
      * converted into binary and concatenated, and their order is determined by primitive sorting.
      */
     private byte[] serialized(Set<String> excluded) {
-        Feature[] includedFeatures = featuresSorted(excluded);
-        final var featureNr = includedFeatures.length;
-        byte[][] featuresSerialized = new byte[featureNr][];
-        var i = 0;
-        var size = 0;
+        final var index = this.index;
+        if (index != null) {
+            return index.serialized(excluded);
+        }
+        final var includedFeatures = featuresSorted(excluded);
+        final var array = new byte[serializedSize(includedFeatures)];
+        serialize(ByteBuffer.wrap(array), includedFeatures);
+        return array;
+    }
+
+    /**
+     * Get the number of bytes the serialized form of the license occupies. This is the length of the array returned
+     * by {@link #serialized()} and the number of bytes written by {@link #serialize(ByteBuffer)}.
+     * <p>
+     * The calculation does not sort the features and does not allocate memory. Use it to allocate or reuse a buffer
+     * of the appropriate size before calling {@link #serialize(ByteBuffer)}.
+     *
+     * @return the size of the serialized license in bytes
+     */
+    public int serializedSize() {
+        final var index = this.index;
+        if (index != null) {
+            return index.serializedSize();
+        }
+        return features.serializedSize();
+    }
+
+    /**
+     * Write the serialized form of the license, the same bytes as {@link #serialized()} returns, into the buffer
+     * starting at the current position. After the call the position of the buffer is advanced by
+     * {@link #serializedSize()}.
+     * <p>
+     * The method does not allocate any intermediate per feature byte arrays. The caller can reuse the same buffer to
+     * serialize many licenses one after the other. Nothing is written into the buffer if it does not have enough
+     * room for the whole license.
+     *
+     * @param buffer the target buffer, heap or direct
+     * @throws java.nio.BufferOverflowException if the buffer does not have {@link #serializedSize()} bytes remaining
+     */
+    public void serialize(ByteBuffer buffer) {
+        final var index = this.index;
+        if (index != null) {
+            index.serialize(buffer);
+            return;
+        }
+        final var includedFeatures = featuresSorted(Collections.emptySet());
+        if (buffer.remaining() < serializedSize(includedFeatures)) {
+            throw new BufferOverflowException();
+        }
+        serialize(buffer, includedFeatures);
+    }
+
+    private static int serializedSize(Feature[] includedFeatures) {
+        var size = Integer.BYTES;
         for (final var feature : includedFeatures) {
-            featuresSerialized[i] = feature.serialized();
-            size += featuresSerialized[i].length;
-            i++;
+            size += Integer.BYTES + feature.serializedSize();
         }
+        return size;
+    }
 
-        final var buffer = ByteBuffer.allocate(size + Integer.BYTES * (featureNr + 1));
-        buffer.putInt(MAGIC);
-        for (final var featureSerialized : featuresSerialized) {
-            buffer.putInt(featureSerialized.length);
-            buffer.put(featureSerialized);
+    private static void serialize(ByteBuffer buffer, Feature[] includedFeatures) {
+        Feature.putInt(buffer, MAGIC);
+        for (final var feature : includedFeatures) {
+            Feature.putInt(buffer, feature.serializedSize());
+            feature.serialize(buffer);
         }
-        return buffer.array();
     }
 
     /**
@@ -532,6 +772,90 @@ public class License {
             return license;
         }
 
+        /**
+         * Create a license from the binary representation, which is between the position and the limit of the buffer,
+         * without copying the values of the features. The features of the license are views: the typed getters read
+         * the values directly from the buffer (see {@link Feature.Create#from(ByteBuffer)}). The buffer can be a heap
+         * buffer, a direct buffer or a memory mapped file. The position, limit and byte order of the buffer are not
+         * modified.
+         * <p>
+         * The content of the buffer must not be modified while the license is in use.
+         *
+         * @param buffer the buffer containing the binary representation of the license between its position and limit
+         * @return the license object.
+         */
+        public static License from(final ByteBuffer buffer) {
+            final var bb = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+            final var end = bb.limit();
+            if (bb.remaining() < Integer.BYTES) {
+                throw new IllegalArgumentException("serialized license is too short");
+            }
+            var position = bb.position();
+            if (bb.getInt(position) != MAGIC) {
+                throw new IllegalArgumentException("serialized license is corrupt");
+            }
+            position += Integer.BYTES;
+            final var license = new License();
+            while (position < end) {
+                if (end - position < Integer.BYTES) {
+                    throw new IllegalArgumentException("serialized license is corrupt");
+                }
+                final var featureLength = bb.getInt(position);
+                position += Integer.BYTES;
+                if (featureLength < 0 || featureLength > end - position) {
+                    throw new IllegalArgumentException("serialized license is corrupt");
+                }
+                try {
+                    license.add(Feature.Create.viewFrom(bb, position, featureLength));
+                } catch (BufferUnderflowException e) {
+                    throw new IllegalArgumentException(e);
+                }
+                position += featureLength;
+            }
+            return license;
+        }
+
+        /**
+         * Create a license from the binary byte array representation decoding the features only when they are used.
+         * <p>
+         * The method scans the array once, checks that it is well-formed and builds an index of the features. A
+         * feature is decoded when it is first retrieved calling {@link License#get(String)}. The serialized and the
+         * unsigned forms of the license are created copying the original bytes, therefore checking the signature of
+         * the license calling {@link License#isOK(PublicKey)} does not decode any feature except the signature and
+         * the digest algorithm. This makes the loading and checking of licenses that contain large {@code BINARY}
+         * features faster, and it needs less memory.
+         * <p>
+         * The license created this way behaves the same as the one created by {@link #from(byte[])}. The first
+         * modification of the license decodes all the features. If the array does not contain the features sorted by
+         * their names and without duplicates, as {@link License#serialized()} creates them, then the license is
+         * decoded right away.
+         * <p>
+         * The license refers to the array, the caller must not modify the array afterwards.
+         *
+         * @param array the binary byte array representation of the license
+         * @return the license object.
+         */
+        public static License lazyFrom(final byte[] array) {
+            if (array.length < Integer.BYTES) {
+                throw new IllegalArgumentException("serialized license is too short");
+            }
+            final var magic = ByteBuffer.wrap(array).getInt();
+            if (magic != MAGIC) {
+                throw new IllegalArgumentException("serialized license is corrupt");
+            }
+            final var index = FeatureIndex.scan(array, Integer.BYTES);
+            if (index == null) {
+                return from(array);
+            }
+            final var signature = index.get(SIGNATURE_KEY);
+            if (signature != null && !signature.isBinary()) {
+                throw new IllegalArgumentException("Signature of a license has to be binary.");
+            }
+            final var license = new License();
+            license.index = index;
+            return license;
+        }
+
         /**
          * Get a license with the features from the string. The format of the string is the same as the one, which was
          * generated by the {@link License#toString()}.
@@ -541,60 +865,50 @@ public class License {
          * The syntax is more relaxed than in case of {@link License#toString()}, however. The spaces at the start of
          * the lines, between the feature name and the {@code :} and around the type name before the {@code =} sign are
          * removed. In case of multi-line string the spaces before and after the end string are also removed. Spaces,
-         * however, inside {@code STRING} features remain intact including line trailing spaces.
+         * however, inside {@code STRING} features remain intact including line trailing spaces. The lines of a
+         * multi-line value are joined with {@code \n} characters.
          *
          * @param text the license in string format
          * @return the license.
          */
         public static License from(final String text) {
-            final var license = new License();
-            try (var reader = new BufferedReader(new StringReader(text))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    final var parts = Feature.splitString(line);
-                    final var name = parts[0];
-                    final var typeString = parts[1];
-                    final var valueString = getValueString(reader, parts[2]);
-                    license.add(Feature.getFeature(name, typeString, valueString));
-                }
-                return license;
-            } catch (IOException e) {
-                throw new IllegalArgumentException(e);
-            }
+            return from((CharSequence) text);
         }
 
         /**
-         * Get the value string from the {@code valueString} that is after the {@code =} character in the feature definition
-         * string and from the buffered reader that optionally supply the following lines.
-         * <p>
+         * Get a license with the features from the characters. See {@link #from(String)} for the syntax.
+         *
+         * @param text the license in string format
+         * @return the license.
+         */
+        public static License from(final CharSequence text) {
+            return LicenseTextParser.parse(text);
+        }
+
+        /**
+         * Get a license with the features from the reader. See {@link #from(String)} for the syntax. The reader is
+         * read in one pass without first reading the whole text into memory. The reader is not closed.
+         *
+         * @param reader the source of the license in string format
+         * @return the license.
+         * @throws IOException if the reader throws
+         */
+        public static License from(final Reader reader) throws IOException {
+            return LicenseTextParser.parse(reader);
+        }
+
+        /**
+         * Get a license with the features from the UTF-8 encoded text between the position and the limit of the
+         * buffer. See {@link #from(String)} for the syntax. The position of the buffer is not modified. The bytes are
+         * decoded while the license is parsed, the text is not decoded into memory as a whole.
          * <p>
-         * If the {@code valueString} does not start with the characters {@code <<} then it is simply returned. If it
-         * starts with the {@code <<} characters then the rest of the string is interpreted as the {@code HERE_STRING}
-         * (see {@link #toString()}), and the subsequent lines are read from the buffered reader {@code reader} till the
-         * {@code HERE_STRING} is found. In this case the lines concatenated together is returned.
+         * Note that {@link #from(ByteBuffer)} reads the binary format of the license from a buffer.
          *
-         * @param reader      that supplies the consecutive lines from the text representation of the license that
-         *                    contains the feature
-         * @param valueString the value string that was on the first line of the feature definition.
-         * @return the valueString compiled from the current line and possibly from subsequent lines.
-         * @throws IOException if the reader throws, which should never happen as we read from a {@link
-         *                     java.lang.String}
+         * @param buffer the UTF-8 encoded license in string format
+         * @return the license.
          */
-        private static String getValueString(BufferedReader reader, String valueString) throws IOException {
-            if (valueString.startsWith("<<")) {
-                final var endLine = valueString.substring(2).trim();
-                final var sb = new StringBuilder();
-                String valueNextLine;
-                while ((valueNextLine = reader.readLine()) != null) {
-                    if (valueNextLine.trim().equals(endLine)) {
-                        return sb.toString();
-                    } else {
-                        sb.append(valueNextLine);
-                    }
-                }
-                throw new IllegalArgumentException("Multiline value string was not terminated before EOF.");
-            }
-            return valueString;
+        public static License fromText(final ByteBuffer buffer) {
+            return LicenseTextParser.parse(buffer);
         }
     }
 }
@@ -0,0 +1,308 @@
+package javax0.license3j;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parse the text format of a license, the format created by {@link License#toString()}, reading the characters from a
+ * {@link Reader} in one pass.
+ * <p>
+ * The parser reads the input in chunks into a buffer, and it collects the current line in a reusable
+ * {@link StringBuilder}. The name, type and value of a feature are located in the line by a single scan. The only
+ * objects created for a feature are the name and the value strings, and the feature itself. The type is looked up
+ * without creating a string. The lines of a multi-line value are collected into a second reusable
+ * {@link StringBuilder}, joined with {@code \n} characters.
+ * <p>
+ * Lines are terminated by {@code \n}, {@code \r} or {@code \r\n}, the same way as {@link java.io.BufferedReader}
+ * splits the lines.
+ * <p>
+ * An instance of this class is not thread safe, and it can parse only one input.
+ */
+final class LicenseTextParser {
+    private static final int BUFFER_SIZE = 8192;
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean skipLineFeed;
+    private final StringBuilder line = new StringBuilder();
+    private final StringBuilder value = new StringBuilder();
+
+    private LicenseTextParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Parse the license from the reader. The reader is read until the end, but it is not closed.
+     *
+     * @param reader the source of the text
+     * @return the license
+     * @throws IOException              if the reader throws
+     * @throws IllegalArgumentException if the text is not a well-formed license
+     */
+    static License parse(Reader reader) throws IOException {
+        return new LicenseTextParser(reader).parse();
+    }
+
+    /**
+     * Parse the license from the characters.
+     *
+     * @param text the license in text format
+     * @return the license
+     * @throws IllegalArgumentException if the text is not a well-formed license
+     */
+    static License parse(CharSequence text) {
+        try {
+            return parse(new CharSequenceReader(text));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Parse the license from the UTF-8 encoded bytes between the position and the limit of the buffer. The bytes are
+     * decoded chunk by chunk while the license is parsed, the whole text is never decoded into memory. Malformed input
+     * is replaced the same way as {@link java.nio.charset.Charset#decode(ByteBuffer)} does. The position of the buffer
+     * is not modified.
+     *
+     * @param buffer the license in text format, UTF-8 encoded
+     * @return the license
+     * @throws IllegalArgumentException if the text is not a well-formed license
+     */
+    static License parse(ByteBuffer buffer) {
+        try {
+            return parse(new Utf8Reader(buffer.duplicate()));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private License parse() throws IOException {
+        final var license = new License();
+        while (readLine()) {
+            license.add(feature());
+        }
+        return license;
+    }
+
+    /**
+     * Create the feature from the current line and, in case of a multi-line value, from the following lines.
+     *
+     * @return the feature
+     * @throws IOException if the reader throws
+     */
+    private Feature feature() throws IOException {
+        final var length = line.length();
+        var typeEnd = -1;
+        var colon = -1;
+        for (int i = 0; i < length; i++) {
+            final var c = line.charAt(i);
+            if (c == '=') {
+                typeEnd = i;
+                break;
+            }
+            if (c == ':' && colon == -1) {
+                colon = i;
+            }
+        }
+        if (typeEnd == -1) {
+            throw new IllegalArgumentException("The feature's string representation must have a '=' after the type");
+        }
+        final var nameEnd = colon == -1 ? typeEnd : colon;
+        final var name = trimmed(0, nameEnd);
+        final String type;
+        if (colon == -1) {
+            type = "STRING";
+        } else {
+            final var typeName = Feature.typeName(line, trimStart(colon + 1, typeEnd), trimEnd(colon + 1, typeEnd));
+            type = typeName == null ? trimmed(colon + 1, typeEnd) : typeName;
+        }
+        final var valueStart = typeEnd + 1;
+        final String valueString;
+        if (length - valueStart >= 2 && line.charAt(valueStart) == '<' && line.charAt(valueStart + 1) == '<') {
+            valueString = multilineValue(trimmed(valueStart + 2, length));
+        } else {
+            valueString = line.substring(valueStart);
+        }
+        return Feature.getFeature(name, type, valueString);
+    }
+
+    /**
+     * Read the lines of a multi-line value until the line that contains the end string. Spaces around the end string
+     * are ignored.
+     *
+     * @param endLine the string that terminates the value
+     * @return the lines joined with {@code \n} characters
+     * @throws IOException if the reader throws
+     */
+    private String multilineValue(String endLine) throws IOException {
+        value.setLength(0);
+        var first = true;
+        while (readLine()) {
+            if (isTrimmedLine(endLine)) {
+                return value.toString();
+            }
+            if (!first) {
+                value.append('\n');
+            }
+            value.append(line);
+            first = false;
+        }
+        throw new IllegalArgumentException("Multiline value string was not terminated before EOF.");
+    }
+
+    private boolean isTrimmedLine(String s) {
+        final var start = trimStart(0, line.length());
+        final var end = trimEnd(start, line.length());
+        if (end - start != s.length()) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (line.charAt(i) != s.charAt(i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Trim the characters the same way as {@link String#trim()} does.
+     */
+    private String trimmed(int start, int end) {
+        final var s = trimStart(start, end);
+        return line.substring(s, trimEnd(s, end));
+    }
+
+    private int trimStart(int start, int end) {
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimEnd(int start, int end) {
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Read the next line into {@link #line} without the line terminator.
+     *
+     * @return {@code false} if there are no more lines
+     * @throws IOException if the reader throws
+     */
+    private boolean readLine() throws IOException {
+        line.setLength(0);
+        var any = false;
+        while (true) {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, BUFFER_SIZE);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return any;
+                }
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (buffer[position] == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+            any = true;
+            final var start = position;
+            while (position < limit) {
+                final var c = buffer[position];
+                if (c == '\n' || c == '\r') {
+                    line.append(buffer, start, position - start);
+                    position++;
+                    skipLineFeed = c == '\r';
+                    return true;
+                }
+                position++;
+            }
+            line.append(buffer, start, position - start);
+        }
+    }
+
+    /**
+     * A reader over a {@link CharSequence}. Unlike {@link java.io.StringReader} it does not need a {@link String}, and
+     * it is not synchronized.
+     */
+    private static class CharSequenceReader extends Reader {
+        private final CharSequence text;
+        private int next;
+
+        private CharSequenceReader(CharSequence text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            final var length = text.length();
+            if (next >= length) {
+                return -1;
+            }
+            final var n = Math.min(len, length - next);
+            if (text instanceof String) {
+                ((String) text).getChars(next, next + n, cbuf, off);
+            } else {
+                for (int i = 0; i < n; i++) {
+                    cbuf[off + i] = text.charAt(next + i);
+                }
+            }
+            next += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * A reader decoding the UTF-8 bytes of a buffer directly into the array passed to {@link #read(char[], int, int)}.
+     * The parser always reads {@link #BUFFER_SIZE} characters, thus there is always room for both characters of a
+     * surrogate pair.
+     */
+    private static class Utf8Reader extends Reader {
+        private final ByteBuffer bytes;
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private boolean decoded;
+        private boolean flushed;
+
+        private Utf8Reader(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (flushed) {
+                return -1;
+            }
+            final var out = CharBuffer.wrap(cbuf, off, len);
+            if (!decoded && decoder.decode(bytes, out, true).isUnderflow()) {
+                decoded = true;
+            }
+            if (decoded && decoder.flush(out).isUnderflow()) {
+                flushed = true;
+            }
+            final var n = out.position() - off;
+            return n == 0 && flushed ? -1 : n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
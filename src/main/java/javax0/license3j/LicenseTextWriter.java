@@ -0,0 +1,164 @@
+package javax0.license3j;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Write the text format of a license, the format returned by {@link License#toString()}, directly to a
+ * {@link Writer}.
+ * <p>
+ * The features are written one after the other, each followed by a new line. The value of a {@code BINARY} feature is
+ * base64 encoded in chunks into a reusable buffer, the encoded value is never created as a single string. A multi-line
+ * value is written with a {@code HERE_STRING} delimiter, which is calculated in time linear to the length of the value
+ * (see {@link #writeMultiline(String)}).
+ * <p>
+ * An instance of this class is not thread safe.
+ */
+final class LicenseTextWriter {
+    /**
+     * The number of bytes encoded at once. It has to be a multiple of three, so that the encoded chunks do not have
+     * padding, and they can be concatenated.
+     */
+    private static final int CHUNK = 3 * 1024;
+    private static final int ENCODED_CHUNK = CHUNK / 3 * 4;
+    private final Writer out;
+    private byte[] raw;
+    private byte[] encoded;
+    private char[] chars;
+
+    private LicenseTextWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Write the features in text format.
+     *
+     * @param features the features in the order they are to be written
+     * @param out      the writer to write to. It is neither flushed nor closed.
+     * @throws IOException if the writer throws
+     */
+    static void write(Feature[] features, Writer out) throws IOException {
+        final var writer = new LicenseTextWriter(out);
+        for (final var feature : features) {
+            writer.write(feature);
+        }
+    }
+
+    private void write(Feature feature) throws IOException {
+        feature.writeNameAndType(out);
+        if (feature.isBinary()) {
+            writeBase64(feature);
+        } else {
+            final var valueString = feature.valueString();
+            if (valueString.indexOf('\n') != -1 || valueString.startsWith("<<")) {
+                writeMultiline(valueString);
+            } else {
+                out.write(valueString);
+            }
+        }
+        out.write('\n');
+    }
+
+    private void writeBase64(Feature feature) throws IOException {
+        if (raw == null) {
+            raw = new byte[CHUNK];
+            encoded = new byte[ENCODED_CHUNK];
+            chars = new char[ENCODED_CHUNK];
+        }
+        final var value = feature.valueBuffer();
+        final var encoder = Base64.getEncoder();
+        while (value.hasRemaining()) {
+            final var n = Math.min(CHUNK, value.remaining());
+            value.get(raw, 0, n);
+            final var len = encoder.encode(n == CHUNK ? raw : Arrays.copyOf(raw, n), encoded);
+            for (int i = 0; i < len; i++) {
+                chars[i] = (char) encoded[i];
+            }
+            out.write(chars, 0, len);
+        }
+    }
+
+    /**
+     * Write a multi-line value. The lines are the result of {@code s.split("\n")}, thus trailing empty lines are not
+     * written. The value is preceded by {@code <<} and the delimiter on the first line and it is followed by the
+     * delimiter on the last line.
+     * <p>
+     * The delimiter is the shortest prefix of a string made of {@code A} and {@code B} characters that is not a line
+     * of the value. The {@code i}-th character of the string differs from the {@code i}-th character of the
+     * {@code i}-th line, therefore the whole string is never a line of the value. Only prefixes that are shorter
+     * than the number of lines are tried, and when all of them are lines of the value, then the delimiter is the
+     * string {@code null}. A prefix of length {@code m} can only be equal to a line that has the length {@code m},
+     * thus comparing each line only with the prefix of the same length finds all the prefixes that are lines. This
+     * needs time linear to the length of the value.
+     *
+     * @param s the multi-line value
+     * @throws IOException if the writer throws
+     */
+    private void writeMultiline(String s) throws IOException {
+        final var length = s.length();
+        // the end of the lines, excluding the trailing empty lines, which are dropped by split()
+        var end = length;
+        while (end > 0 && s.charAt(end - 1) == '\n') {
+            end--;
+        }
+        var n = 0;
+        if (end > 0) {
+            n = 1;
+            for (int i = 0; i < end; i++) {
+                if (s.charAt(i) == '\n') {
+                    n++;
+                }
+            }
+        } else if (length == 0) {
+            n = 1;
+        }
+        final var delimiter = new char[n];
+        var lineStart = 0;
+        for (int i = 0; i < n; i++) {
+            final var lineEnd = lineEnd(s, lineStart, end);
+            delimiter[i] = lineEnd - lineStart <= i || s.charAt(lineStart + i) == 'A' ? 'B' : 'A';
+            lineStart = lineEnd + 1;
+        }
+        final var taken = new boolean[n];
+        lineStart = 0;
+        for (int i = 0; i < n; i++) {
+            final var lineEnd = lineEnd(s, lineStart, end);
+            final var m = lineEnd - lineStart;
+            if (m >= 1 && m < n && isPrefix(s, lineStart, m, delimiter)) {
+                taken[m] = true;
+            }
+            lineStart = lineEnd + 1;
+        }
+        String shortDelimiter = null;
+        for (int j = 1; j < n; j++) {
+            if (!taken[j]) {
+                shortDelimiter = new String(delimiter, 0, j);
+                break;
+            }
+        }
+        out.write("<<");
+        out.write(String.valueOf(shortDelimiter));
+        if (n > 0) {
+            out.write('\n');
+            out.write(s, 0, end);
+        }
+        out.write('\n');
+        out.write(String.valueOf(shortDelimiter));
+    }
+
+    private static int lineEnd(String s, int start, int end) {
+        final var i = s.indexOf('\n', start);
+        return i == -1 || i > end ? end : i;
+    }
+
+    private static boolean isPrefix(String s, int start, int m, char[] delimiter) {
+        for (int k = 0; k < m; k++) {
+            if (s.charAt(start + k) != delimiter[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
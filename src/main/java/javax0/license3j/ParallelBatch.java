@@ -0,0 +1,141 @@
+package javax0.license3j;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Run a task for each index of a batch on several workers in an executor.
+ * <p>
+ * The workers take the next not yet processed index from a shared counter until there is no more, thus the load is
+ * balanced between the workers even if the tasks take different time. The first exception thrown by a task stops the
+ * workers, and it is available calling {@link #failure()} after {@link #run(Executor, int)} returned.
+ * <p>
+ * The calling thread is one of the workers, thus the batch is processed even if the executor does not start the other
+ * workers for a long time, e.g. because the batch was started from a task running in the same saturated fork join pool.
+ * When the calling thread has no more work it waits only for the workers that have started, and it waits using
+ * {@link ForkJoinPool#managedBlock(ForkJoinPool.ManagedBlocker)}, so that a fork join pool can start a compensating
+ * thread while the caller is blocked.
+ */
+class ParallelBatch {
+    @FunctionalInterface
+    interface Task {
+        void run(int i) throws Exception;
+    }
+
+    private final int size;
+    private final Task task;
+    private final AtomicInteger next = new AtomicInteger();
+    /**
+     * The number of the workers inside {@link #work()}.
+     */
+    private final AtomicInteger working = new AtomicInteger();
+    private volatile Thread waiter;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean cancelled;
+
+    ParallelBatch(int size, Task task) {
+        this.size = size;
+        this.task = task;
+    }
+
+    /**
+     * Stop the workers. The tasks that are already running are finished, no new task is started.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return the first exception thrown by a task or {@code null} if there was no failure
+     */
+    Throwable failure() {
+        return failure.get();
+    }
+
+    /**
+     * Run the tasks and wait for the workers to finish.
+     *
+     * @param executor    the executor to run the workers in
+     * @param parallelism the maximum number of the workers
+     * @throws CancellationException if the calling thread was interrupted while waiting for the workers. The batch is
+     *                               cancelled in that case, and the interrupted status of the thread is set.
+     */
+    void run(Executor executor, int parallelism) {
+        waiter = Thread.currentThread();
+        final var workers = Math.min(parallelism, size);
+        for (int i = 1; i < workers; i++) {
+            executor.execute(this::work);
+        }
+        work();
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() throws InterruptedException {
+                    while (!isReleasable()) {
+                        LockSupport.park(ParallelBatch.this);
+                        if (Thread.interrupted()) {
+                            throw new InterruptedException();
+                        }
+                    }
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return isFinished();
+                }
+            });
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("interrupted while waiting for the workers");
+        }
+    }
+
+    /**
+     * Throw the failure if it is unchecked.
+     */
+    void rethrowUnchecked() {
+        final var t = failure.get();
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+    }
+
+    /**
+     * The batch is finished when no more task is started and no worker is running a task. A worker that starts later
+     * finds nothing to do. The order of the reads matters: a worker registers in {@link #working} before it takes an
+     * index, thus when the last index was taken, the worker taking it is already counted.
+     *
+     * @return {@code true} if the batch is finished
+     */
+    private boolean isFinished() {
+        return (cancelled || failure.get() != null || next.get() >= size) && working.get() == 0;
+    }
+
+    private void work() {
+        working.incrementAndGet();
+        try {
+            int i;
+            while (!cancelled && failure.get() == null && (i = next.getAndIncrement()) < size) {
+                try {
+                    task.run(i);
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                    return;
+                }
+            }
+        } finally {
+            if (working.decrementAndGet() == 0) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package javax0.license3j;
+
+import javax0.license3j.crypto.LicenseKeyPair;
+
+import java.lang.reflect.Modifier;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the public keys decoded from their byte array form, used by {@link License#isOK(byte[])}.
+ * <p>
+ * Applications usually embed the public key as a byte array and call {@link License#isOK(byte[])} with the same bytes
+ * again and again. Decoding the key needs the lookup of the key factory and the parsing of the encoded key. The cache
+ * maps the bytes of the key to the decoded {@link LicenseKeyPair}, thus a key is decoded only once. The lookup hashes
+ * and compares the bytes, it does not copy them. The bytes are copied only when a new key is stored, hence the cache
+ * is not affected if the caller modifies the array later.
+ * <p>
+ * Keys that cannot be decoded are not cached. The cache holds a limited number of keys. When it is full it is
+ * cleared, a program uses only a few keys, more keys mean that the keys are not coming from a fixed set.
+ * <p>
+ * The class is thread safe.
+ */
+final class PublicKeyCache {
+    private final ConcurrentHashMap<Bytes, LicenseKeyPair> keys = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    /**
+     * @param maxSize the maximum number of keys cached
+     */
+    PublicKeyCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the decoded public key.
+     *
+     * @param encoded the public key encoded with the cipher specification in front of it, as returned by
+     *                {@link LicenseKeyPair#getPublic()}
+     * @return the key pair holding the public key
+     * @throws NoSuchAlgorithmException if the algorithm of the key is not known by the encryption provider
+     * @throws InvalidKeySpecException  if the bytes of the key cannot be decoded
+     */
+    LicenseKeyPair get(byte[] encoded) throws NoSuchAlgorithmException, InvalidKeySpecException {
+        final var cached = keys.get(new Bytes(encoded));
+        if (cached != null) {
+            return cached;
+        }
+        final var keyPair = LicenseKeyPair.Create.from(encoded, Modifier.PUBLIC);
+        if (keys.size() >= maxSize) {
+            keys.clear();
+        }
+        keys.put(new Bytes(encoded.clone()), keyPair);
+        return keyPair;
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    void clear() {
+        keys.clear();
+    }
+
+    /**
+     * A byte array used as a map key comparing the content.
+     */
+    private static class Bytes {
+        private final byte[] bytes;
+        private final int hash;
+
+        private Bytes(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Bytes && hash == ((Bytes) o).hash && Arrays.equals(bytes, ((Bytes) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package javax0.license3j;
 
+import javax0.license3j.jfr.RevocationCheckEvent;
+import javax0.license3j.metrics.Metrics;
+import javax0.license3j.metrics.Operation;
+
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
@@ -124,22 +128,34 @@ public class RevocableLicense {
      * license is not revoked.
      */
     public boolean isRevoked(final boolean defaultRevocationState) {
-        var revoked = true;
+        final var metrics = Metrics.current();
+        final var start = metrics.start();
+        final var event = RevocationCheckEvent.start();
+        URL url = null;
+        String failure = null;
+        var revoked = false;
         try {
-            final var url = getRevocationURL();
-            if (url == null) {
-                return false;
-            }
-            final var con = httpHandler.open(url);
-            con.setUseCaches(false);
-            if (con instanceof HttpURLConnection) {
-                final var hCon = (HttpURLConnection) con;
-                hCon.connect();
-                return httpHandler.responseCode(hCon) != HttpURLConnection.HTTP_OK;
+            url = getRevocationURL();
+            if (url != null) {
+                final var con = httpHandler.open(url);
+                con.setUseCaches(false);
+                if (con instanceof HttpURLConnection) {
+                    final var hCon = (HttpURLConnection) con;
+                    hCon.connect();
+                    revoked = httpHandler.responseCode(hCon) != HttpURLConnection.HTTP_OK;
+                }
             }
-            return false;
         } catch (final IOException exception) {
+            failure = exception.getClass().getSimpleName();
+            metrics.failure(Operation.REVOCATION_CHECK, failure);
             revoked = defaultRevocationState;
+        } finally {
+            metrics.stop(Operation.REVOCATION_CHECK, start);
+            if (event != null && event.shouldCommit()) {
+                event.url = url == null ? null : url.toString();
+                event.outcome = failure != null ? failure : revoked ? "REVOKED" : "NOT_REVOKED";
+                event.commit();
+            }
         }
         return revoked;
     }
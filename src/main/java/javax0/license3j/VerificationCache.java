@@ -0,0 +1,194 @@
+package javax0.license3j;
+
+import javax0.license3j.crypto.CryptoEngine;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, concurrent cache of license verification results.
+ * <p>
+ * Verifying the signature of a license needs the serialization of the license, a message digest and a public key
+ * operation. Applications that check the same license over and over again (e.g. on every request) can install a cache
+ * calling {@link License#setVerificationCache(VerificationCache)}. After that {@link License#isOK(java.security.PublicKey)}
+ * and {@link License#isOK(byte[])} look up the verdict in the cache and perform the cryptographic check only when
+ * the license was not verified with the same key before.
+ * <p>
+ * The cache key is the SHA-256 digest of the serialized license (including the signature) together with the algorithm
+ * and the encoded form of the public key. Any change of the license, including the change of the signature, results a
+ * different key, thus a modified license is never accepted based on a cached verdict of the original one.
+ * <p>
+ * The cache holds at most {@code maxSize} entries. When the cache is full the oldest entries are evicted. Entries also
+ * expire after the time-to-live specified when the cache was created. Both positive and negative verdicts are cached.
+ */
+public class VerificationCache {
+    private static final String KEY_DIGEST = "SHA-256";
+    private static final byte[] SEPARATOR = {0};
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxSize the maximum number of verdicts stored in the cache, must be positive
+     * @param ttl     the time a verdict stays in the cache after it was calculated
+     */
+    public VerificationCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    VerificationCache(int maxSize, Duration ttl, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size has to be positive, it was " + maxSize);
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache time to live has to be positive, it was " + ttl);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Get the verdict of the license signature check from the cache, or calculate it using the {@code verifier} and
+     * store it in the cache.
+     *
+     * @param license   the license to be checked
+     * @param key       the public key used to check the license
+     * @param algorithm the cipher algorithm used to check the signature
+     * @param verifier  calculates the verdict when it is not in the cache
+     * @return the cached or the freshly calculated verdict
+     */
+    BulkVerifier.Reason verdict(License license, PublicKey key, String algorithm,
+                                Supplier<BulkVerifier.Reason> verifier) {
+        final Key cacheKey;
+        try {
+            cacheKey = keyFor(license, key, algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            misses.increment();
+            return verifier.get();
+        }
+        final var now = clock.getAsLong();
+        final var entry = entries.get(cacheKey);
+        if (entry != null && now - entry.created < ttlNanos) {
+            hits.increment();
+            return entry.verdict;
+        }
+        misses.increment();
+        final var verdict = verifier.get();
+        store(cacheKey, new Entry(verdict, now));
+        return verdict;
+    }
+
+    private void store(Key cacheKey, Entry entry) {
+        if (entries.put(cacheKey, entry) == null) {
+            insertionOrder.add(cacheKey);
+            if (size.incrementAndGet() > maxSize) {
+                evictOldest();
+            }
+        }
+    }
+
+    private void evictOldest() {
+        while (size.get() > maxSize) {
+            final var oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            if (entries.remove(oldest) != null) {
+                size.decrementAndGet();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static Key keyFor(License license, PublicKey key, String algorithm) throws NoSuchAlgorithmException {
+        return new Key(CryptoEngine.digest(KEY_DIGEST, license.serialized(), SEPARATOR,
+                algorithm.getBytes(StandardCharsets.UTF_8), SEPARATOR, key.getEncoded()));
+    }
+
+    /**
+     * Remove all verdicts from the cache. The hit and miss counters are not reset.
+     */
+    public void clear() {
+        entries.clear();
+        insertionOrder.clear();
+        size.set(0);
+    }
+
+    /**
+     * @return the number of verdicts currently stored in the cache
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of checks that were answered from the cache
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of checks that had to perform the cryptographic verification
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of verdicts removed from the cache because the cache was full
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private static class Entry {
+        final BulkVerifier.Reason verdict;
+        final long created;
+
+        private Entry(BulkVerifier.Reason verdict, long created) {
+            this.verdict = verdict;
+            this.created = created;
+        }
+    }
+
+    private static class Key {
+        private final byte[] digest;
+        private final int hash;
+
+        private Key(byte[] digest) {
+            this.digest = digest;
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof Key && Arrays.equals(digest, ((Key) o).digest));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
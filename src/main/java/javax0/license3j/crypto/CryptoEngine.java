@@ -0,0 +1,365 @@
+package javax0.license3j.crypto;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pools of reusable message digest, cipher and signature objects.
+ * <p>
+ * Getting a {@link MessageDigest} or a {@link Cipher} from the JCA needs a provider lookup, and a cipher also has to be
+ * initialized with the key before use. Signing and verifying licenses at high rate pays these costs again and again.
+ * This class keeps the already created and initialized objects in pools, keyed by the algorithm and in case of a cipher
+ * also by the operation mode and the key, and hands them out to one caller at a time. A {@link Signature} is pooled by
+ * the algorithm only, it is initialized with the key for each operation.
+ * <p>
+ * Only the ciphers initialized with a public key are pooled. A cipher initialized with a private key is created for the
+ * operation and dropped afterwards, so that the pools do not keep private keys reachable. The ciphers are pooled for
+ * at most 64 keys, when more keys are used the pool of the least recently used key is dropped.
+ * <p>
+ * The objects are not bound to threads. A caller takes one from the pool for the duration of a single operation and
+ * puts it back afterwards. That way the pools work the same way for platform and for virtual threads, and the number of
+ * the pooled objects is limited by the number of the concurrent operations and not by the number of the threads. No
+ * lock is held while a cryptographic operation is running.
+ * <p>
+ * The methods of this class are thread safe.
+ */
+public class CryptoEngine {
+    private static final int MAX_IDLE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    private static final int MAX_CIPHER_POOLS = 64;
+
+    private static final ConcurrentHashMap<String, Pool<MessageDigest>> digesters = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<CipherSpec, Pool<Cipher>> ciphers = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Pool<Signature>> signatures = new ConcurrentHashMap<>();
+    /**
+     * Logical clock to find the least recently used cipher pool.
+     */
+    private static final AtomicLong tick = new AtomicLong();
+
+    private CryptoEngine() {
+    }
+
+    /**
+     * Calculate the digest of the concatenated byte arrays.
+     *
+     * @param algorithm the name of the message digest algorithm, e.g. {@code SHA-512}
+     * @param data      the byte arrays to calculate the digest of
+     * @return the digest value
+     * @throws NoSuchAlgorithmException if there is no provider for the algorithm
+     */
+    public static byte[] digest(String algorithm, byte[]... data) throws NoSuchAlgorithmException {
+        var pool = digesters.get(algorithm);
+        MessageDigest digester;
+        if (pool == null) {
+            // the algorithm may come from a license, do not create a pool for a name that is not an algorithm
+            digester = MessageDigest.getInstance(algorithm);
+            pool = digesters.computeIfAbsent(algorithm, k -> new Pool<>());
+        } else {
+            digester = pool.take();
+            if (digester == null) {
+                digester = MessageDigest.getInstance(algorithm);
+            }
+        }
+        for (final var chunk : data) {
+            digester.update(chunk);
+        }
+        final var result = digester.digest();
+        pool.release(digester);
+        return result;
+    }
+
+    /**
+     * Encrypt the data using the key.
+     *
+     * @param transformation the cipher transformation as {@code algorithm} or {@code algorithm/mode/padding}
+     * @param key            the key to encrypt with
+     * @param data           the data to encrypt
+     * @return the encrypted data
+     * @throws NoSuchAlgorithmException  this exception comes from the underlying encryption library
+     * @throws NoSuchPaddingException    this exception comes from the underlying encryption library
+     * @throws InvalidKeyException       this exception comes from the underlying encryption library
+     * @throws BadPaddingException       this exception comes from the underlying encryption library
+     * @throws IllegalBlockSizeException this exception comes from the underlying encryption library
+     */
+    public static byte[] encrypt(String transformation, Key key, byte[] data) throws NoSuchAlgorithmException,
+            NoSuchPaddingException, InvalidKeyException, BadPaddingException, IllegalBlockSizeException {
+        return doFinal(new CipherSpec(transformation, Cipher.ENCRYPT_MODE, key), data);
+    }
+
+    /**
+     * Decrypt the data using the key.
+     *
+     * @param transformation the cipher transformation as {@code algorithm} or {@code algorithm/mode/padding}
+     * @param key            the key to decrypt with
+     * @param data           the data to decrypt
+     * @return the decrypted data
+     * @throws NoSuchAlgorithmException  this exception comes from the underlying encryption library
+     * @throws NoSuchPaddingException    this exception comes from the underlying encryption library
+     * @throws InvalidKeyException       this exception comes from the underlying encryption library
+     * @throws BadPaddingException       this exception comes from the underlying encryption library
+     * @throws IllegalBlockSizeException this exception comes from the underlying encryption library
+     */
+    public static byte[] decrypt(String transformation, Key key, byte[] data) throws NoSuchAlgorithmException,
+            NoSuchPaddingException, InvalidKeyException, BadPaddingException, IllegalBlockSizeException {
+        return doFinal(new CipherSpec(transformation, Cipher.DECRYPT_MODE, key), data);
+    }
+
+    private static byte[] doFinal(CipherSpec spec, byte[] data) throws NoSuchAlgorithmException,
+            NoSuchPaddingException, InvalidKeyException, BadPaddingException, IllegalBlockSizeException {
+        if (!(spec.key instanceof PublicKey)) {
+            final var cipher = Cipher.getInstance(spec.transformation);
+            cipher.init(spec.mode, spec.key);
+            return cipher.doFinal(data);
+        }
+        final var pool = cipherPool(spec);
+        var cipher = pool.take();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(spec.transformation);
+            cipher.init(spec.mode, spec.key);
+        }
+        // a cipher that threw an exception is not put back to the pool, its state is not known
+        final var result = cipher.doFinal(data);
+        pool.release(cipher);
+        return result;
+    }
+
+    private static Pool<Cipher> cipherPool(CipherSpec spec) {
+        final var pool = ciphers.get(spec);
+        if (pool != null) {
+            pool.lastUsed = tick.incrementAndGet();
+            return pool;
+        }
+        while (ciphers.size() >= MAX_CIPHER_POOLS) {
+            evictLeastRecentlyUsed();
+        }
+        final var created = ciphers.computeIfAbsent(spec, k -> new Pool<>());
+        created.lastUsed = tick.incrementAndGet();
+        return created;
+    }
+
+    /**
+     * Drop the cipher pool that was used the longest time ago. It runs only when a new key is used and there are
+     * already {@link #MAX_CIPHER_POOLS} pools, thus scanning the pools is not a problem.
+     */
+    private static void evictLeastRecentlyUsed() {
+        Map.Entry<CipherSpec, Pool<Cipher>> oldest = null;
+        for (final var entry : ciphers.entrySet()) {
+            if (oldest == null || entry.getValue().lastUsed < oldest.getValue().lastUsed) {
+                oldest = entry;
+            }
+        }
+        if (oldest != null) {
+            ciphers.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    static int digestPools() {
+        return digesters.size();
+    }
+
+    static int cipherPools() {
+        return ciphers.size();
+    }
+
+    static boolean hasCipherPool(String transformation, int mode, Key key) {
+        return ciphers.containsKey(new CipherSpec(transformation, mode, key));
+    }
+
+    /**
+     * Get the name of the {@link Signature} algorithm to sign a license with a key.
+     * <p>
+     * EC and DSA keys can be used with the {@code SHA-1}, {@code SHA-224}, {@code SHA-256}, {@code SHA-384},
+     * {@code SHA-512} and the {@code SHA3-224}, {@code SHA3-256}, {@code SHA3-384}, {@code SHA3-512} digests. EdDSA
+     * keys ({@code EdDSA}, {@code Ed25519}, {@code Ed448}) have the digest built into the algorithm, the
+     * {@code digest} is not used.
+     *
+     * @param keyAlgorithm the algorithm of the key, as returned by {@link Key#getAlgorithm()}
+     * @param digest       the name of the digest algorithm, e.g. {@code SHA-256}
+     * @return the signature algorithm, e.g. {@code SHA256withECDSA} for an EC key, or {@code null} for RSA keys, which
+     * encrypt the digest instead of using {@link Signature}
+     * @throws NoSuchAlgorithmException if the key algorithm cannot sign a license, or the digest cannot be used with
+     *                                  the key algorithm
+     */
+    public static String signatureAlgorithm(String keyAlgorithm, String digest) throws NoSuchAlgorithmException {
+        switch (keyAlgorithm) {
+            case "RSA":
+                return null;
+            case "EC":
+                return signatureDigest(keyAlgorithm, digest) + "withECDSA";
+            case "DSA":
+                return signatureDigest(keyAlgorithm, digest) + "withDSA";
+            case "EdDSA":
+            case "Ed25519":
+            case "Ed448":
+                return keyAlgorithm;
+            default:
+                throw new NoSuchAlgorithmException("Licenses cannot be signed with " + keyAlgorithm + " keys");
+        }
+    }
+
+    /**
+     * Convert the name of the digest to the form used in the signature algorithm names. {@code SHA-256} is
+     * {@code SHA256} in {@code SHA256withECDSA}, but {@code SHA3-256} keeps the hyphen in {@code SHA3-256withECDSA}.
+     */
+    private static String signatureDigest(String keyAlgorithm, String digest) throws NoSuchAlgorithmException {
+        switch (digest) {
+            case "SHA-1":
+            case "SHA-224":
+            case "SHA-256":
+            case "SHA-384":
+            case "SHA-512":
+                return digest.replace("-", "");
+            case "SHA3-224":
+            case "SHA3-256":
+            case "SHA3-384":
+            case "SHA3-512":
+                return digest;
+            default:
+                throw new NoSuchAlgorithmException("Digest " + digest + " cannot be used with " + keyAlgorithm + " keys");
+        }
+    }
+
+    /**
+     * Sign the data using {@link Signature}.
+     *
+     * @param algorithm the signature algorithm, e.g. {@code SHA256withECDSA}
+     * @param key       the private key
+     * @param data      the data to sign
+     * @return the signature
+     * @throws NoSuchAlgorithmException if the algorithm is not known by the encryption provider
+     * @throws InvalidKeyException      if the key cannot be used with the algorithm
+     */
+    public static byte[] sign(String algorithm, PrivateKey key, byte[] data) throws NoSuchAlgorithmException,
+            InvalidKeyException {
+        final var pool = signaturePool(algorithm);
+        var signature = pool.take();
+        if (signature == null) {
+            signature = Signature.getInstance(algorithm);
+        }
+        signature.initSign(key);
+        final byte[] result;
+        try {
+            signature.update(data);
+            result = signature.sign();
+        } catch (SignatureException e) {
+            // cannot happen, the signature object was initialized
+            throw new IllegalStateException(e);
+        }
+        pool.release(signature);
+        return result;
+    }
+
+    /**
+     * Verify the signature of the data using {@link Signature}.
+     *
+     * @param algorithm      the signature algorithm, e.g. {@code SHA256withECDSA}
+     * @param key            the public key
+     * @param data           the signed data
+     * @param signatureValue the signature
+     * @return {@code true} if the signature is correct
+     * @throws NoSuchAlgorithmException if the algorithm is not known by the encryption provider
+     * @throws InvalidKeyException      if the key cannot be used with the algorithm
+     * @throws SignatureException       if the signature is malformed
+     */
+    public static boolean verify(String algorithm, PublicKey key, byte[] data, byte[] signatureValue)
+            throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        final var pool = signaturePool(algorithm);
+        var signature = pool.take();
+        if (signature == null) {
+            signature = Signature.getInstance(algorithm);
+        }
+        signature.initVerify(key);
+        signature.update(data);
+        // a signature that threw an exception is not put back to the pool, its state is not known
+        final var result = signature.verify(signatureValue);
+        pool.release(signature);
+        return result;
+    }
+
+    private static Pool<Signature> signaturePool(String algorithm) throws NoSuchAlgorithmException {
+        final var pool = signatures.get(algorithm);
+        if (pool != null) {
+            return pool;
+        }
+        // the algorithm may come from a license, do not create a pool for a name that is not an algorithm
+        Signature.getInstance(algorithm);
+        return signatures.computeIfAbsent(algorithm, k -> new Pool<>());
+    }
+
+    /**
+     * Drop all pooled objects. The objects in use are not affected, and they are dropped when they are released.
+     */
+    public static void clear() {
+        digesters.clear();
+        ciphers.clear();
+        signatures.clear();
+    }
+
+    /**
+     * A lock free pool of idle objects. It holds at most {@link #MAX_IDLE} objects, the objects released when the pool
+     * is full are left for the garbage collector.
+     *
+     * @param <T> the type of the pooled objects
+     */
+    private static class Pool<T> {
+        private final ConcurrentLinkedQueue<T> idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private volatile long lastUsed;
+
+        T take() {
+            final var object = idle.poll();
+            if (object != null) {
+                size.decrementAndGet();
+            }
+            return object;
+        }
+
+        void release(T object) {
+            if (size.incrementAndGet() <= MAX_IDLE) {
+                idle.offer(object);
+            } else {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    private static class CipherSpec {
+        final String transformation;
+        final int mode;
+        final Key key;
+
+        private CipherSpec(String transformation, int mode, Key key) {
+            this.transformation = Objects.requireNonNull(transformation);
+            this.mode = mode;
+            this.key = Objects.requireNonNull(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CipherSpec)) return false;
+            final var other = (CipherSpec) o;
+            return mode == other.mode && transformation.equals(other.transformation) && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(transformation, mode, key);
+        }
+    }
+}
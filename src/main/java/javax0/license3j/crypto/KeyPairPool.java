@@ -0,0 +1,219 @@
+package javax0.license3j.crypto;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of key pairs generated in advance.
+ * <p>
+ * Generating an RSA key pair of 4096 bits may take seconds. An application that creates a new key pair for each
+ * customer, e.g. when a new tenant is provisioned, can take the key pairs from this pool. The pool keeps
+ * {@code capacity} key pairs generated for each algorithm and size that was {@link #prepare(String, int) prepared}
+ * or {@link #take(String, int) taken} before. When a key pair is taken the pool starts to generate a new one in the
+ * background, thus {@link #take(String, int)} does not need to wait for the generation as long as the pool is not
+ * emptied faster than it is refilled. When there is no key pair available {@link #take(String, int)} generates one
+ * on the calling thread.
+ * <p>
+ * The key pairs are generated calling {@link LicenseKeyPair.Create#from(String, int, SecureRandom)} with the source
+ * of randomness given to the pool. Every key pair is handed out only once.
+ * <p>
+ * The pool generates the key pairs in the executor passed to the constructor. When no executor is given, the pool
+ * creates its own single daemon thread, which is stopped calling {@link #close()}.
+ * <p>
+ * The methods of this class are thread safe.
+ */
+public class KeyPairPool implements AutoCloseable {
+    private final int capacity;
+    private final SecureRandom random;
+    private final Executor executor;
+    private final ExecutorService ownExecutor;
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * Create a pool that generates the key pairs on its own background thread using a new {@link SecureRandom}.
+     *
+     * @param capacity the number of the key pairs kept ready for each algorithm and size, must be positive
+     */
+    public KeyPairPool(int capacity) {
+        this(capacity, new SecureRandom());
+    }
+
+    /**
+     * Create a pool that generates the key pairs on its own background thread.
+     *
+     * @param capacity the number of the key pairs kept ready for each algorithm and size, must be positive
+     * @param random   the source of randomness for the key generation
+     */
+    public KeyPairPool(int capacity, SecureRandom random) {
+        this(capacity, random, Executors.newSingleThreadExecutor(KeyPairPool::daemon), true);
+    }
+
+    /**
+     * Create a pool that generates the key pairs in the given executor.
+     *
+     * @param capacity the number of the key pairs kept ready for each algorithm and size, must be positive
+     * @param random   the source of randomness for the key generation
+     * @param executor the executor to run the generation in. It is not shut down when the pool is closed.
+     */
+    public KeyPairPool(int capacity, SecureRandom random, Executor executor) {
+        this(capacity, random, executor, false);
+    }
+
+    private KeyPairPool(int capacity, SecureRandom random, Executor executor, boolean ownsExecutor) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pool capacity has to be positive, it was " + capacity);
+        }
+        this.capacity = capacity;
+        this.random = Objects.requireNonNull(random);
+        this.executor = Objects.requireNonNull(executor);
+        this.ownExecutor = ownsExecutor ? (ExecutorService) executor : null;
+    }
+
+    private static Thread daemon(Runnable runnable) {
+        final var thread = new Thread(runnable, "license3j-key-pair-pool");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Start generating the key pairs for the algorithm and size in the background, so that the first
+     * {@link #take(String, int)} does not have to wait.
+     *
+     * @param cipher the cipher string as in {@link LicenseKeyPair.Create#from(String, int)}
+     * @param size   the size of the key
+     * @return this
+     * @throws NoSuchAlgorithmException when the {@code cipher} specifies an algorithm that is not known by the
+     *                                  encryption provider
+     */
+    public KeyPairPool prepare(String cipher, int size) throws NoSuchAlgorithmException {
+        slot(cipher, size).refill();
+        return this;
+    }
+
+    /**
+     * Take a key pair from the pool. If there is no key pair ready, then a new one is generated on the calling thread.
+     * In either case the pool starts to generate a new key pair in the background to replace the one taken.
+     *
+     * @param cipher the cipher string as in {@link LicenseKeyPair.Create#from(String, int)}
+     * @param size   the size of the key
+     * @return a key pair, which is not handed out again by the pool
+     * @throws NoSuchAlgorithmException when the {@code cipher} specifies an algorithm that is not known by the
+     *                                  encryption provider
+     */
+    public LicenseKeyPair take(String cipher, int size) throws NoSuchAlgorithmException {
+        final var slot = slot(cipher, size);
+        final var keyPair = slot.keys.poll();
+        if (keyPair != null) {
+            slot.count.decrementAndGet();
+        }
+        slot.refill();
+        return keyPair != null ? keyPair : LicenseKeyPair.Create.from(cipher, size, random);
+    }
+
+    /**
+     * @param cipher the cipher string
+     * @param size   the size of the key
+     * @return the number of the key pairs ready to be taken for the algorithm and size
+     */
+    public int available(String cipher, int size) {
+        final var slot = slots.get(key(cipher, size));
+        return slot == null ? 0 : slot.count.get();
+    }
+
+    /**
+     * Stop generating new key pairs and drop the key pairs that were not taken. A generation that is already running
+     * is finished, and the key pair it generates is dropped. After the pool is closed {@link #take(String, int)}
+     * generates the key pairs on the calling thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (ownExecutor != null) {
+            ownExecutor.shutdown();
+        }
+        slots.values().forEach(Slot::drain);
+    }
+
+    private static String key(String cipher, int size) {
+        return size + ":" + cipher;
+    }
+
+    private Slot slot(String cipher, int size) throws NoSuchAlgorithmException {
+        final var key = key(cipher, size);
+        final var slot = slots.get(key);
+        if (slot != null) {
+            return slot;
+        }
+        // fail on the calling thread if the algorithm or the size is not supported, not later in the background
+        KeyPairGenerator.getInstance(LicenseKeyPair.Create.algorithmPrefix(cipher)).initialize(size, random);
+        return slots.computeIfAbsent(key, k -> new Slot(cipher, size));
+    }
+
+    /**
+     * The key pairs of one algorithm and size.
+     */
+    private class Slot {
+        private final String cipher;
+        private final int size;
+        private final ConcurrentLinkedQueue<LicenseKeyPair> keys = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private volatile boolean failed;
+
+        private Slot(String cipher, int size) {
+            this.cipher = cipher;
+            this.size = size;
+        }
+
+        /**
+         * Start the generation in the background unless the slot is full or the generation is already running.
+         */
+        private void refill() {
+            if (closed || failed || count.get() >= capacity || !refilling.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::fill);
+            } catch (RejectedExecutionException e) {
+                refilling.set(false);
+            }
+        }
+
+        private void drain() {
+            keys.clear();
+            count.set(0);
+        }
+
+        private void fill() {
+            try {
+                while (!closed && count.get() < capacity) {
+                    keys.add(LicenseKeyPair.Create.from(cipher, size, random));
+                    count.incrementAndGet();
+                    // close() may have drained the slot while the key pair was generated
+                    if (closed) {
+                        drain();
+                        return;
+                    }
+                }
+            } catch (Exception e) {
+                // the same exception is thrown to the caller when take() generates the key pair itself
+                failed = true;
+            } finally {
+                refilling.set(false);
+            }
+            // a key pair may have been taken after the loop ended but before refilling was reset
+            refill();
+        }
+    }
+}
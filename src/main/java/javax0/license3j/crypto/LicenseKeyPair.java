@@ -120,7 +120,7 @@ public class LicenseKeyPair {
             return new LicenseKeyPair(keyPair, cipher);
         }
 
-        private static String algorithmPrefix(final String cipher) {
+        static String algorithmPrefix(final String cipher) {
             if (cipher.contains("/")) {
                 return cipher.substring(0, cipher.indexOf("/"));
             } else {
@@ -139,6 +139,12 @@ public class LicenseKeyPair {
          * happening in different environments may use different providers that are not compatible and an otherwise
          * completely perfect license will not verify.
          *
+         * <p>
+         * Besides RSA keys, EC and EdDSA keys can also be created. These keys sign the license using
+         * {@link java.security.Signature}, see {@code License.sign()}. For EC keys the size selects the curve, e.g.
+         * {@code from("EC", 256)} creates a P-256 key pair. An Ed25519 key pair is created calling
+         * {@code from("Ed25519", 255)}, this needs Java 15 or later.
+         *
          * @param cipher the cipher string
          * @param size   the size of the key to generate
          * @return the new create {@link LicenseKeyPair}
@@ -152,6 +158,27 @@ public class LicenseKeyPair {
             return new LicenseKeyPair(generator.genKeyPair(), cipher);
         }
 
+        /**
+         * Create a new key pair using the algorithm, the size and the source of randomness. See
+         * {@link #from(String, int)}.
+         * <p>
+         * Use this method when the default {@link SecureRandom} of the platform may block waiting for entropy, for
+         * example in a container, or when the key generation has to use a specific source of randomness.
+         *
+         * @param cipher the cipher string
+         * @param size   the size of the key to generate
+         * @param random the source of randomness for the key generation
+         * @return the new create {@link LicenseKeyPair}
+         * @throws NoSuchAlgorithmException when the {@code cipher} specifies an algorithm that is not known by the
+         *                                  encryption provider
+         */
+        public static LicenseKeyPair from(final String cipher, final int size, final SecureRandom random) throws NoSuchAlgorithmException {
+            final var algorithm = algorithmPrefix(cipher);
+            final KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+            generator.initialize(size, random);
+            return new LicenseKeyPair(generator.genKeyPair(), cipher);
+        }
+
         /**
          * Create a new {@link LicenseKeyPair} that contains only one of the keys, either the private or the public.
          * The key is provided in binary format as a byte array.
@@ -1,12 +1,22 @@
 package javax0.license3j.hardware;
 
+import javax0.license3j.jfr.CloudMetadataEvent;
+import javax0.license3j.metrics.Metrics;
+import javax0.license3j.metrics.Operation;
+
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Obtain unique and immutable cloud instance/virtual machine Id, suitable for licensing purposes.
@@ -24,12 +34,7 @@ public enum CloudProvider {
      * Refer to <a href="https://docs.microsoft.com/en-us/azure/virtual-machines/windows/instance-metadata-service?tabs=windows">Azure documentation</a>
      * Refer to <a href="https://gist.github.com/dreamorosi/50cbfd622b478c2433602c16b7321c5d">Examples</a>
      */
-    Azure {
-        @Override
-        public String getInstanceId() {
-            return instanceIdFor("http://169.254.169.254/metadata/instance/compute/vmId?api-version=2021-02-01&format=text", "Metadata", "true");
-        }
-    },
+    Azure("http://169.254.169.254/metadata/instance/compute/vmId?api-version=2021-02-01&format=text", "Metadata", "true"),
 
     /**
      * Obtain a AWS instance id.
@@ -38,10 +43,14 @@ public enum CloudProvider {
      * Refer to <a href="https://gist.github.com/dreamorosi/50cbfd622b478c2433602c16b7321c5d">Examples</a>
      * Refer to <a href="https://stackoverflow.com/questions/625644/how-to-get-the-instance-id-from-within-an-ec2-instance">Stack overflow</a>
      */
-    AWS {
+    AWS("http://169.254.169.254/latest/meta-data/instance-id", "Metadata", "true") {
+        /**
+         * On the Nitro based instances the board asset tag is the instance id.
+         */
         @Override
-        public String getInstanceId() {
-            return instanceIdFor("http://169.254.169.254/latest/meta-data/instance-id", "Metadata", "true");
+        String localInstanceId(Dmi dmi) {
+            final var assetTag = dmi.read("board_asset_tag");
+            return assetTag != null && assetTag.startsWith("i-") && AWS == fromDmi(dmi) ? assetTag : null;
         }
     },
 
@@ -52,12 +61,7 @@ public enum CloudProvider {
      * Refer to <a href="https://cloud.yandex.com/en/docs/compute/operations/vm-info/get-info">Examples</a>
      * Refer to <a href="https://stackoverflow.com/questions/31688646/get-the-name-or-id-of-the-current-google-compute-instance">Stack overflow</a>
      */
-    Google {
-        @Override
-        public String getInstanceId() {
-            return instanceIdFor("http://metadata.google.internal/computeMetadata/v1/instance?alt=text", "Metadata-Flavor", "Google");
-        }
-    },
+    Google("http://metadata.google.internal/computeMetadata/v1/instance?alt=text", "Metadata-Flavor", "Google"),
 
     /**
      * Obtain an Oracle cloud instance id.
@@ -65,36 +69,21 @@ public enum CloudProvider {
      * Refer to <a href="https://docs.oracle.com/en-us/iaas/Content/Compute/Tasks/gettingmetadata.htm#metadata-keys">Oracle Cloud docs</a>
      * Refer to <a href="https://docs.oracle.com/en-us/iaas/Content/Compute/Tasks/gettingmetadata.htm#metadata-keys">Oracle Cloud metadata keys</a>
      */
-    Oracle {
-        @Override
-        public String getInstanceId() {
-            return instanceIdFor("http://169.254.169.254/opc/v2/instance/id", "Authorization", "Bearer Oracle");
-        }
-    },
+    Oracle("http://169.254.169.254/opc/v2/instance/id", "Authorization", "Bearer Oracle"),
 
     /**
      * Obtain an Digital Ocean instance id.
      * <p>
      * Refer to <a href="https://www.alibabacloud.com/help/doc-detail/108460.htm?spm=a2c63.p38356.b99.196.4e3b3828rFutRB">How to Access Droplet Metadata</a>
      */
-    DigitalOcean {
-        @Override
-        public String getInstanceId() {
-            return instanceIdFor("http://169.254.169.254/metadata/v1/id", (String[]) null);
-        }
-    },
+    DigitalOcean("http://169.254.169.254/metadata/v1/id"),
 
     /**
      * Obtain Alibaba cloud instance id.
      * <p>
      * Refer to <a href="https://www.alibabacloud.com/help/doc-detail/108460.htm?spm=a2c63.p38356.b99.196.4e3b3828rFutRB">View instance metadata</a>
      */
-    AliBaba {
-        @Override
-        public String getInstanceId() {
-            return instanceIdFor("http://100.100.100.200/latest/meta-data/instance-id", (String[]) null);
-        }
-    },
+    AliBaba("http://100.100.100.200/latest/meta-data/instance-id"),
 
     /**
      * Obtain cloud instance id from a custom rest endpoint. Before using this value call the
@@ -103,22 +92,206 @@ public enum CloudProvider {
      * <p>
      * Note that this way you can only handle only one proprietary cloud provider in a program.
      */
-    Proprietary {
+    Proprietary(null) {
         @Override
-        public String getInstanceId() {
-            return instanceIdFor(instanceIdUrl, (String[]) null);
+        String url() {
+            return instanceIdUrl;
+        }
+
+        @Override
+        String[] headers() {
+            return CloudProvider.headers;
         }
     };
 
+    /**
+     * The chassis asset tag of the Azure virtual machines, which distinguishes them from other Hyper-V machines.
+     */
+    private static final String AZURE_CHASSIS_ASSET_TAG = "7783-7084-3265-9085-8269-3286-77";
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    private static volatile String instanceIdUrl;
+    private static volatile String[] headers;
+    private static volatile Path dmiDirectory = Dmi.DEFAULT_DIRECTORY;
+    private static volatile Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+    private static volatile HttpClient client = newClient(DEFAULT_CONNECT_TIMEOUT);
+
+    private final String defaultUrl;
+    private final String[] defaultHeaders;
+    private volatile String url;
+
+    CloudProvider(String url, String... headers) {
+        this.defaultUrl = url;
+        this.url = url;
+        this.defaultHeaders = headers.length == 0 ? null : headers;
+    }
+
+    String url() {
+        return url;
+    }
+
+    String[] headers() {
+        return defaultHeaders;
+    }
+
+    /**
+     * Use a different url to get the instance id from. Used by the tests to query a stub server. Passing
+     * {@code null} restores the url of the provider.
+     *
+     * @param url the url of the endpoint
+     */
+    void overrideUrl(String url) {
+        this.url = url == null ? defaultUrl : url;
+    }
+
+    private static HttpClient newClient(Duration connectTimeout) {
+        return HttpClient.newBuilder().connectTimeout(connectTimeout).build();
+    }
+
+    /**
+     * Get the instance id from the local DMI information, without network call.
+     *
+     * @param dmi the DMI information of the machine
+     * @return the instance id or {@code null} if the provider does not report it locally
+     */
+    String localInstanceId(Dmi dmi) {
+        return null;
+    }
+
     /**
      * Get instance id, but can throw run-time exception.
+     * <p>
+     * When the instance id is available in the local DMI information (see {@link #setDmiDirectory(Path)}) it is
+     * returned without querying the metadata endpoint. Currently it is the case for the AWS Nitro instances. The
+     * value is the same as the one returned by the endpoint.
      *
      * @return the instance id.
      */
-    abstract public String getInstanceId();
+    public String getInstanceId() {
+        final var local = localInstanceId(new Dmi(dmiDirectory));
+        return local != null ? local : instanceIdFor(url(), headers());
+    }
+
+    /**
+     * Set the directory where the DMI information is read from. The default is {@code /sys/class/dmi/id}, which
+     * exists on Linux. On other operating systems, or when the directory does not exist, the local detection finds
+     * nothing and the metadata endpoints are queried.
+     *
+     * @param directory the directory containing the files {@code sys_vendor}, {@code product_name} and so on, or
+     *                  {@code null} to restore the default
+     */
+    public static void setDmiDirectory(final Path directory) {
+        CloudProvider.dmiDirectory = directory == null ? Dmi.DEFAULT_DIRECTORY : directory;
+    }
+
+    /**
+     * Detect the cloud provider from the local DMI information, without network call. See
+     * {@link #setDmiDirectory(Path)}.
+     *
+     * @return the cloud provider or empty if the DMI information does not identify any provider
+     */
+    public static Optional<CloudProvider> detectLocal() {
+        return Optional.ofNullable(fromDmi(new Dmi(dmiDirectory)));
+    }
+
+    private static CloudProvider fromDmi(Dmi dmi) {
+        final var vendor = dmi.read("sys_vendor");
+        final var product = dmi.read("product_name");
+        final var chassisAssetTag = dmi.read("chassis_asset_tag");
+        if (vendor != null && vendor.startsWith("Amazon EC2")) {
+            return AWS;
+        }
+        if ("Microsoft Corporation".equals(vendor) && "Virtual Machine".equals(product)
+                && AZURE_CHASSIS_ASSET_TAG.equals(chassisAssetTag)) {
+            return Azure;
+        }
+        if ("Google".equals(vendor) || "Google Compute Engine".equals(product)) {
+            return Google;
+        }
+        if ("OracleCloud.com".equals(chassisAssetTag)) {
+            return Oracle;
+        }
+        if ("DigitalOcean".equals(vendor)) {
+            return DigitalOcean;
+        }
+        if ("Alibaba Cloud".equals(vendor)) {
+            return AliBaba;
+        }
+        return null;
+    }
+
+    /**
+     * Set the timeouts of the requests to the metadata endpoints. The defaults are 2 seconds to connect and 5 seconds
+     * to get the response. When the endpoint does not answer in time, {@link #getInstanceId()} throws an exception
+     * and {@link #detect()} does not select the provider.
+     * <p>
+     * All the requests are sent using the same {@link HttpClient}. Calling this method replaces the client.
+     *
+     * @param connectTimeout the maximum time to connect to the endpoint
+     * @param requestTimeout the maximum time to wait for the response
+     */
+    public static void setTimeouts(final Duration connectTimeout, final Duration requestTimeout) {
+        CloudProvider.requestTimeout = Objects.requireNonNull(requestTimeout);
+        CloudProvider.client = newClient(Objects.requireNonNull(connectTimeout));
+    }
+
+    /**
+     * Detect the cloud provider the program is running on. When the local DMI information identifies the provider
+     * (see {@link #detectLocal()}) no network call is made. Otherwise, see {@link #detectAsync()}.
+     *
+     * @return the cloud provider or empty if none of the providers answered
+     */
+    public static Optional<CloudProvider> detect() {
+        final var local = detectLocal();
+        return local.isPresent() ? local : detectAsync().join();
+    }
+
+    /**
+     * Detect the cloud provider the program is running on.
+     * <p>
+     * The metadata endpoints of all the providers are queried at the same time. {@link #Proprietary} is queried only
+     * when its url was set. The first provider that answers with the status code 200 and a non-empty body is the
+     * result. The requests to the other endpoints are cancelled when the result is known. When none of the endpoints
+     * answers within the timeouts (see {@link #setTimeouts(Duration, Duration)}) the result is empty.
+     *
+     * @return the future cloud provider, which completes normally also when no provider was found
+     */
+    public static CompletableFuture<Optional<CloudProvider>> detectAsync() {
+        final var result = new CompletableFuture<Optional<CloudProvider>>();
+        final List<CompletableFuture<?>> requests = new ArrayList<>();
+        final List<CompletableFuture<?>> probes = new ArrayList<>();
+        for (final var provider : values()) {
+            final var url = provider.url();
+            if (url == null) {
+                continue;
+            }
+            final HttpRequest request;
+            try {
+                request = request(url, provider.headers());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                continue;
+            }
+            final var sent = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+            requests.add(sent);
+            probes.add(sent.thenAccept(response -> {
+                if (response.statusCode() == 200 && response.body() != null && !response.body().isBlank()) {
+                    result.complete(Optional.of(provider));
+                }
+            }));
+        }
+        CompletableFuture.allOf(probes.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((v, e) -> result.complete(Optional.empty()));
+        result.whenComplete((provider, e) -> requests.forEach(request -> request.cancel(true)));
+        return result;
+    }
 
-    private static String instanceIdUrl;
-    private static String[] headers;
+    private static HttpRequest request(final String url, final String... headers) throws URISyntaxException {
+        final var requestBuilder = HttpRequest.newBuilder(new URI(url)).timeout(requestTimeout);
+        if (headers != null && headers.length > 0)
+            requestBuilder.headers(headers);
+        return requestBuilder.GET().build();
+    }
 
     public static void setInstanceIdUrl(final String instanceIdUrl) {
         CloudProvider.instanceIdUrl = instanceIdUrl;
@@ -143,17 +316,34 @@ public enum CloudProvider {
 
 
     private static String instanceIdFor(String instanceIdUrl, String... headers) {
-        Objects.requireNonNull(instanceIdUrl);
+        final var metrics = Metrics.current();
+        final var start = metrics.start();
+        final var event = CloudMetadataEvent.start();
+        String outcome = null;
+        var byteSize = 0;
         try {
-            HttpClient client = HttpClient.newHttpClient();
-            HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(new URI(instanceIdUrl));
-            if (headers != null && headers.length > 0)
-                requestBuilder.headers(headers);
-            HttpRequest request = requestBuilder.GET().build();
+            Objects.requireNonNull(instanceIdUrl);
+            HttpRequest request = request(instanceIdUrl, headers);
             HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            outcome = Integer.toString(response.statusCode());
+            byteSize = response.body() == null ? 0 : response.body().length();
             return response.body();
         } catch (InterruptedException | URISyntaxException | IOException e) {
+            outcome = e.getClass().getSimpleName();
+            metrics.failure(Operation.CLOUD_INSTANCE_ID, outcome);
             throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            metrics.failure(Operation.CLOUD_INSTANCE_ID, outcome);
+            throw e;
+        } finally {
+            metrics.stop(Operation.CLOUD_INSTANCE_ID, start);
+            if (event != null && event.shouldCommit()) {
+                event.url = instanceIdUrl;
+                event.byteSize = byteSize;
+                event.outcome = outcome;
+                event.commit();
+            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package javax0.license3j.hardware;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Read the DMI (SMBIOS) information the Linux kernel exposes in the files of the directory
+ * {@code /sys/class/dmi/id}. Cloud virtual machines report the name of the provider in these files and some of them
+ * also the instance id, thus the provider can be identified without any network call.
+ * <p>
+ * This class is used by the {@link CloudProvider}. You, using License3j as a library, do not call methods in
+ * this class directly.
+ */
+class Dmi {
+    static final Path DEFAULT_DIRECTORY = Paths.get("/sys/class/dmi/id");
+
+    private final Path directory;
+
+    Dmi(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Read a DMI value. Some of the files, e.g. {@code product_uuid}, are readable only by root.
+     *
+     * @param name the name of the file, e.g. {@code sys_vendor}
+     * @return the content of the file without the leading and trailing white space, or {@code null} if the file does
+     * not exist, cannot be read or it is empty
+     */
+    String read(String name) {
+        try {
+            final var value = new String(Files.readAllBytes(directory.resolve(name)), StandardCharsets.UTF_8).trim();
+            return value.isEmpty() ? null : value;
+        } catch (IOException | SecurityException e) {
+            return null;
+        }
+    }
+}
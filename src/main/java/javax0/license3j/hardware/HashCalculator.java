@@ -1,5 +1,6 @@
 package javax0.license3j.hardware;
 
+import java.io.ByteArrayOutputStream;
 import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
@@ -12,6 +13,11 @@ import java.util.stream.Stream;
  * Calculator to calculate a more or less unique code for the actual machine. The calculation uses the
  * network cards, host name and architecture of the machine.
  * <p>
+ * Each component of the calculation is available as a byte array. Feeding the arrays into the digest one after the
+ * other results the same digest as the {@code updateWith...} methods, this way the components can be collected
+ * concurrently by {@link UUIDCalculator#getMachineIdAsync(CloudProvider, boolean, boolean, boolean,
+ * java.time.Duration)}.
+ * <p>
  * This class is used by the {@link UUIDCalculator}. You, using License3j as a library, do not call methods in
  * this class directly.
  */
@@ -22,38 +28,47 @@ class HashCalculator {
         this.selector = selector;
     }
 
-    private void updateWithNetworkData(final MessageDigest md5,
-                                       final Stream<Network.Interface.Data> interfaces) {
+    private byte[] networkData(final Stream<Network.Interface.Data> interfaces) {
+        final var bytes = new ByteArrayOutputStream();
         interfaces.forEach(ni -> {
-            md5.update(ni.name.getBytes(StandardCharsets.UTF_8));
+            bytes.writeBytes(ni.name.getBytes(StandardCharsets.UTF_8));
             if (ni.hwAddress != null) {
-                md5.update(ni.hwAddress);
+                bytes.writeBytes(ni.hwAddress);
             }
         });
+        return bytes.toByteArray();
     }
 
-    void updateWithNetworkData(final MessageDigest md5) throws SocketException {
+    byte[] networkData() throws SocketException {
         final Stream<Network.Interface.Data> networkInterfaces = Network.Interface.Data.gatherUsing(selector);
-        updateWithNetworkData(md5, networkInterfaces.sorted(Comparator.comparing(a -> a.name)));
+        return networkData(networkInterfaces.sorted(Comparator.comparing(a -> a.name)));
+    }
+
+    byte[] hostName() throws UnknownHostException {
+        return InetAddress.getLocalHost().getHostName().getBytes(StandardCharsets.UTF_8);
+    }
+
+    byte[] architecture() {
+        return System.getProperty("os.arch").getBytes(StandardCharsets.UTF_8);
+    }
+
+    byte[] cloudInstanceId(final CloudProvider cloudProvider) {
+        return cloudProvider.getInstanceId().getBytes(StandardCharsets.UTF_8);
+    }
+
+    void updateWithNetworkData(final MessageDigest md5) throws SocketException {
+        md5.update(networkData());
     }
 
     void updateWithHostName(final MessageDigest md5) throws UnknownHostException {
-        final String hostName = InetAddress.getLocalHost().getHostName();
-        update(md5, hostName);
+        md5.update(hostName());
     }
 
     void updateWithArchitecture(final MessageDigest md5) {
-        final String architecture = System.getProperty("os.arch");
-        update(md5, architecture);
+        md5.update(architecture());
     }
 
     void updateWithCloudInstanceId(final MessageDigest md5, final CloudProvider cloudProvider) {
-        final String instanceId = cloudProvider.getInstanceId();
-        update(md5, instanceId);
-    }
-
-    private void update(final MessageDigest md5, final String input) {
-        final byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
-        md5.update(bytes, 0, bytes.length);
+        md5.update(cloudInstanceId(cloudProvider));
     }
 }
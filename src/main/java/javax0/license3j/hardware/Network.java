@@ -2,14 +2,43 @@ package javax0.license3j.hardware;
 
 import java.net.NetworkInterface;
 import java.net.SocketException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class Network {
+
+    /**
+     * Calculate a fingerprint of the network interfaces of the machine. The fingerprint is calculated from the name,
+     * the display name, the index and the hardware address of all the interfaces, including the ones that are not
+     * used in the calculation of the machine id. It does not depend on the order the interfaces are listed.
+     * <p>
+     * The fingerprint is much cheaper to calculate than the machine id. It is used to detect that the network
+     * configuration of the machine has changed and the machine id has to be calculated again.
+     *
+     * @return the fingerprint
+     * @throws SocketException if the interfaces cannot be listed
+     */
+    public static long fingerprint() throws SocketException {
+        final var interfaces = java.net.NetworkInterface.getNetworkInterfaces();
+        long fingerprint = 0;
+        while (interfaces != null && interfaces.hasMoreElements()) {
+            final var ni = interfaces.nextElement();
+            long h = ni.getName().hashCode();
+            h = 31 * h + Objects.hashCode(ni.getDisplayName());
+            h = 31 * h + ni.getIndex();
+            h = 31 * h + Arrays.hashCode(ni.getHardwareAddress());
+            fingerprint += h * 0x9E3779B97F4A7C15L;
+        }
+        return fingerprint;
+    }
+
     public static class NetworkInterface {
         private final java.net.NetworkInterface ni;
 
@@ -73,20 +102,32 @@ public class Network {
             }
         }
 
+        /**
+         * Select the network interfaces used in the calculation of the machine id.
+         * <p>
+         * The regular expressions are compiled when they are added, thus checking an interface does not compile them
+         * again. The selector can be used from several threads and the regular expressions can also be added
+         * concurrently.
+         */
         public static class Selector {
 
-            private final Set<String> allowedInterfaceNames = new HashSet<>();
-            private final Set<String> deniedInterfaceNames = new HashSet<>();
+            private final Map<String, Pattern> allowedInterfaceNames = new ConcurrentHashMap<>();
+            private final Map<String, Pattern> deniedInterfaceNames = new ConcurrentHashMap<>();
 
             /**
              * Check if any of the set of regular expressions match the given string.
              *
              * @param string   to match
-             * @param regexSet regular expressions provided as set of strings
+             * @param patterns the compiled regular expressions
              * @return {@code true} if the {@code string} matches any of the regular expressions
              */
-            private static boolean matchesAny(final String string, Set<String> regexSet) {
-                return regexSet.stream().anyMatch(string::matches);
+            private static boolean matchesAny(final String string, Map<String, Pattern> patterns) {
+                for (final var pattern : patterns.values()) {
+                    if (pattern.matcher(string).matches()) {
+                        return true;
+                    }
+                }
+                return false;
             }
 
             /**
@@ -128,9 +169,10 @@ public class Network {
              * interface will be used in the calculation of the machine id.
              *
              * @param regex the regular expression that may match the name of the interface name
+             * @throws java.util.regex.PatternSyntaxException if the regular expression is not valid
              */
             public void interfaceAllowed(String regex) {
-                allowedInterfaceNames.add(regex);
+                allowedInterfaceNames.computeIfAbsent(regex, Pattern::compile);
             }
 
             /**
@@ -141,9 +183,10 @@ public class Network {
              *
              * @param regex the regular expression that may match the name of the interface name to exclude the
              *              interface from the machine ID calculation
+             * @throws java.util.regex.PatternSyntaxException if the regular expression is not valid
              */
             public void interfaceDenied(String regex) {
-                deniedInterfaceNames.add(regex);
+                deniedInterfaceNames.computeIfAbsent(regex, Pattern::compile);
             }
 
             /**
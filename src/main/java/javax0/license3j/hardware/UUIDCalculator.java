@@ -1,10 +1,21 @@
 package javax0.license3j.hardware;
 
+import javax0.license3j.jfr.MachineIdEvent;
+
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Calculate a UUID that is specific to the machne. Note that machines are hard to identify and therefore
@@ -25,22 +36,155 @@ public class UUIDCalculator {
 
     public UUID getMachineId(CloudProvider cloudProvider, boolean useNetwork, boolean useHostName, boolean useArchitecture)
             throws SocketException, UnknownHostException, NoSuchAlgorithmException {
-        final var md5 = MessageDigest.getInstance("MD5");
-        md5.reset();
+        final var event = MachineIdEvent.start();
+        String failure = null;
+        try {
+            final var md5 = MessageDigest.getInstance("MD5");
+            md5.reset();
+            if (cloudProvider != null) {
+                calculator.updateWithCloudInstanceId(md5, cloudProvider);
+            }
+            if (useNetwork) {
+                calculator.updateWithNetworkData(md5);
+            }
+            if (useHostName) {
+                calculator.updateWithHostName(md5);
+            }
+            if (useArchitecture) {
+                calculator.updateWithArchitecture(md5);
+            }
+            final byte[] digest = md5.digest();
+            return UUID.nameUUIDFromBytes(digest);
+        } catch (Exception e) {
+            failure = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            if (event != null && event.shouldCommit()) {
+                event.components = components(cloudProvider, useNetwork, useHostName, useArchitecture);
+                event.algorithm = "MD5";
+                event.outcome = failure == null ? "OK" : failure;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * A component of the machine id that may need blocking calls to get.
+     */
+    @FunctionalInterface
+    private interface Component {
+        byte[] get() throws Exception;
+    }
+
+    /**
+     * The executor collecting the components of the machine id. It uses virtual threads when the Java version
+     * supports them, otherwise daemon platform threads created on demand.
+     */
+    private static class AsyncExecutor {
+        private static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            try {
+                return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                return Executors.newCachedThreadPool(runnable -> {
+                    final var thread = new Thread(runnable, "license3j-machine-id");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+
+    /**
+     * Calculate the machine id asynchronously. The result is the same as the one returned by
+     * {@link #getMachineId(CloudProvider, boolean, boolean, boolean)}, but the cloud instance id, the network data and
+     * the host name are collected concurrently. The HTTP call to the cloud metadata service and the host name lookup
+     * are blocking calls, running them at the same time the machine id is available after the slower of them, and not
+     * after the sum of them. The components are digested in the same order as in the synchronous calculation when all
+     * of them are available.
+     * <p>
+     * Each component has to be available within the {@code timeout}. If any of them is not, then the future
+     * completes exceptionally with {@link java.util.concurrent.TimeoutException}. Exceptions thrown collecting a
+     * component complete the future exceptionally with the exception as the cause. The blocking call of a component
+     * that timed out is not interrupted, it finishes in the background.
+     *
+     * @param cloudProvider   the cloud provider to get the instance id from or {@code null}
+     * @param useNetwork      use the network interfaces in the calculation
+     * @param useHostName     use the host name in the calculation
+     * @param useArchitecture use the architecture in the calculation
+     * @param timeout         the maximum time to wait for each of the components
+     * @return the future machine id
+     */
+    public CompletableFuture<UUID> getMachineIdAsync(CloudProvider cloudProvider, boolean useNetwork,
+                                                     boolean useHostName, boolean useArchitecture, Duration timeout) {
+        final var event = MachineIdEvent.start();
+        final List<CompletableFuture<byte[]>> components = new ArrayList<>();
+        if (cloudProvider != null) {
+            components.add(async(() -> calculator.cloudInstanceId(cloudProvider), timeout));
+        }
+        if (useNetwork) {
+            components.add(async(calculator::networkData, timeout));
+        }
+        if (useHostName) {
+            components.add(async(calculator::hostName, timeout));
+        }
+        if (useArchitecture) {
+            components.add(CompletableFuture.completedFuture(calculator.architecture()));
+        }
+        return CompletableFuture.allOf(components.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    try {
+                        final var md5 = MessageDigest.getInstance("MD5");
+                        for (final var component : components) {
+                            md5.update(component.join());
+                        }
+                        return UUID.nameUUIDFromBytes(md5.digest());
+                    } catch (NoSuchAlgorithmException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .whenComplete((uuid, e) -> {
+                    String failure = null;
+                    if (e != null) {
+                        failure = (e instanceof CompletionException && e.getCause() != null ? e.getCause() : e)
+                                .getClass().getSimpleName();
+                    }
+                    if (event != null && event.shouldCommit()) {
+                        event.components = components(cloudProvider, useNetwork, useHostName, useArchitecture);
+                        event.algorithm = "MD5";
+                        event.outcome = failure == null ? "OK" : failure;
+                        event.commit();
+                    }
+                });
+    }
+
+    private static CompletableFuture<byte[]> async(Component component, Duration timeout) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return component.get();
+            } catch (Exception e) {
+                throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+            }
+        }, AsyncExecutor.INSTANCE).orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static String components(CloudProvider cloudProvider, boolean useNetwork, boolean useHostName,
+                                     boolean useArchitecture) {
+        final var joiner = new StringJoiner(",");
         if (cloudProvider != null) {
-            calculator.updateWithCloudInstanceId(md5, cloudProvider);
+            joiner.add("cloud");
         }
         if (useNetwork) {
-            calculator.updateWithNetworkData(md5);
+            joiner.add("network");
         }
         if (useHostName) {
-            calculator.updateWithHostName(md5);
+            joiner.add("hostName");
         }
         if (useArchitecture) {
-            calculator.updateWithArchitecture(md5);
+            joiner.add("architecture");
         }
-        final byte[] digest = md5.digest();
-        return UUID.nameUUIDFromBytes(digest);
+        return joiner.toString();
     }
 
     public String getMachineIdString(CloudProvider cloudProvider, boolean useNetwork, boolean useHostName, boolean useArchitecture) throws
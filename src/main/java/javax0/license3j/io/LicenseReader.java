@@ -1,6 +1,9 @@
 package javax0.license3j.io;
 
 import javax0.license3j.License;
+import javax0.license3j.jfr.DecodeEvent;
+import javax0.license3j.metrics.Metrics;
+import javax0.license3j.metrics.Operation;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -99,21 +102,69 @@ public class LicenseReader implements Closeable {
      * @throws IOException if the input cannot be read
      */
     public License read(IOFormat format) throws IOException {
+        final var metrics = Metrics.current();
+        final var start = metrics.start();
+        final var event = DecodeEvent.start();
+        License license = null;
+        String failure = null;
+        try {
+            switch (format) {
+                case BINARY:
+                    license = License.Create.from(ByteArrayReader.readInput(is));
+                    break;
+                case BASE64:
+                    license = License.Create.from(Base64.getDecoder().decode(ByteArrayReader.readInput(is)));
+                    break;
+                case STRING:
+                    license = License.Create.from(new InputStreamReader(is, StandardCharsets.UTF_8));
+                    break;
+                default:
+                    throw new IllegalArgumentException(IOFormat.class.getName() +
+                            " is incompatible with License3j, and was used with the value " +
+                            format + " which is unknown");
+            }
+            close();
+            return license;
+        } catch (IOException | RuntimeException e) {
+            failure = e.getClass().getSimpleName();
+            metrics.failure(Operation.READ, failure);
+            throw e;
+        } finally {
+            metrics.stop(Operation.READ, start);
+            if (event != null && event.shouldCommit()) {
+                event.format = String.valueOf(format);
+                if (license != null) {
+                    event.featureCount = license.getFeatures().size();
+                    event.byteSize = license.serializedSize();
+                }
+                event.outcome = failure == null ? "OK" : failure;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Read the license from the input the same way as {@link #read(IOFormat)} does, but decode the features only when
+     * they are used. See {@link License.Create#lazyFrom(byte[])}.
+     *
+     * @param format the assumed format of the license, can be {@link IOFormat#BASE64} or {@link IOFormat#BINARY}.
+     *               It must not be {@link IOFormat#STRING}.
+     * @return the license
+     * @throws IOException if the input cannot be read
+     */
+    public License readLazy(IOFormat format) throws IOException {
         final License license;
         switch (format) {
             case BINARY:
-                license = License.Create.from(ByteArrayReader.readInput(is));
+                license = License.Create.lazyFrom(ByteArrayReader.readInput(is));
                 break;
             case BASE64:
-                license = License.Create.from(Base64.getDecoder().decode(ByteArrayReader.readInput(is)));
-                break;
-            case STRING:
-                license = License.Create.from(new String(ByteArrayReader.readInput(is), StandardCharsets.UTF_8));
+                license = License.Create.lazyFrom(Base64.getDecoder().decode(ByteArrayReader.readInput(is)));
                 break;
             default:
                 throw new IllegalArgumentException(IOFormat.class.getName() +
                         " is incompatible with License3j, and was used with the value " +
-                        format + " which is unknown");
+                        format + " which is unknown and/or cannot be used with readLazy");
         }
         close();
         return license;
@@ -0,0 +1,76 @@
+package javax0.license3j.io;
+
+import javax0.license3j.License;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Serializes licenses in {@code BINARY} format into output streams and channels reusing the same scratch buffer.
+ * <p>
+ * {@link LicenseWriter} is the convenient way to save a single license. It closes the output after writing the
+ * license. Applications that issue many licenses in a batch can use an instance of this class instead, writing many
+ * licenses into the same output or into different outputs. The serializer calculates the exact size of the license
+ * first, serializes it directly into the scratch buffer and writes the buffer to the output. The scratch buffer is
+ * allocated only when a license is larger than any of the previous ones, therefore serializing many licenses creates
+ * practically no garbage.
+ * <p>
+ * An instance of this class is not thread safe. Use a separate instance in each thread.
+ */
+public class LicenseSerializer {
+    private static final int INITIAL_CAPACITY = 4096;
+    private ByteBuffer scratch;
+
+    /**
+     * Create a serializer with a heap scratch buffer.
+     */
+    public LicenseSerializer() {
+        this.scratch = ByteBuffer.allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Write the license in binary format to the output stream. The stream is not closed.
+     *
+     * @param license the license to write
+     * @param os      the output stream
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(License license, OutputStream os) throws IOException {
+        final var buffer = serialize(license);
+        os.write(buffer.array(), buffer.arrayOffset(), buffer.limit());
+    }
+
+    /**
+     * Write the license in binary format to the channel. The channel is not closed. The method returns when all bytes
+     * were written. In case of a non-blocking channel this may mean busy looping while the channel accepts the bytes.
+     *
+     * @param license the license to write
+     * @param channel the channel to write the license to
+     * @throws IOException if the channel cannot be written
+     */
+    public void write(License license, WritableByteChannel channel) throws IOException {
+        final var buffer = serialize(license);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Serialize the license into the scratch buffer.
+     *
+     * @param license the license to serialize
+     * @return the scratch buffer flipped, containing the serialized license between position zero and the limit
+     */
+    private ByteBuffer serialize(License license) {
+        final var size = license.serializedSize();
+        if (scratch.capacity() < size) {
+            scratch = ByteBuffer.allocate(Math.max(size, 2 * scratch.capacity()));
+        }
+        scratch.clear();
+        license.serialize(scratch);
+        scratch.flip();
+        return scratch;
+    }
+}
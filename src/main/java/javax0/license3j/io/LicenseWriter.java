@@ -2,12 +2,14 @@ package javax0.license3j.io;
 
 import javax0.license3j.License;
 
+import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Objects;
@@ -55,7 +57,9 @@ public class LicenseWriter implements Closeable {
                 os.write(Base64.getEncoder().encode(license.serialized()));
                 break;
             case STRING:
-                os.write(license.toString().getBytes(StandardCharsets.UTF_8));
+                final var writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+                license.writeTo(writer);
+                writer.flush();
                 break;
             default:
                 throw new IllegalArgumentException(IOFormat.class.getName() +
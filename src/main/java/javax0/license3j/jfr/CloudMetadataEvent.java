@@ -0,0 +1,49 @@
+package javax0.license3j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Fetching the instance id from the metadata service of a cloud provider, {@code CloudProvider.getInstanceId()}.
+ */
+@Name("javax0.license3j.CloudMetadata")
+@Label("Cloud Metadata Fetch")
+@Description("Fetching the instance id from the metadata service of a cloud provider")
+@Category("License3j")
+@Enabled(false)
+@StackTrace(false)
+public final class CloudMetadataEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(CloudMetadataEvent.class);
+
+    /**
+     * Begin an event if a recording enables it. The event is not allocated when it is not enabled.
+     *
+     * @return the begun event or {@code null} if the event is not enabled
+     */
+    public static CloudMetadataEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        final var event = new CloudMetadataEvent();
+        event.begin();
+        return event;
+    }
+
+    @Label("URL")
+    public String url;
+
+    @Label("Byte Size")
+    @Description("The length of the returned instance id")
+    @DataAmount
+    public int byteSize;
+
+    @Label("Outcome")
+    @Description("The HTTP status code or the name of the exception")
+    public String outcome;
+}
@@ -0,0 +1,52 @@
+package javax0.license3j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Reading and decoding a license, {@code LicenseReader.read()}.
+ */
+@Name("javax0.license3j.Decode")
+@Label("License Decode")
+@Description("Reading and decoding a license")
+@Category("License3j")
+@Enabled(false)
+@StackTrace(false)
+public final class DecodeEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(DecodeEvent.class);
+
+    /**
+     * Begin an event if a recording enables it. The event is not allocated when it is not enabled.
+     *
+     * @return the begun event or {@code null} if the event is not enabled
+     */
+    public static DecodeEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        final var event = new DecodeEvent();
+        event.begin();
+        return event;
+    }
+
+    @Label("Format")
+    public String format;
+
+    @Label("Feature Count")
+    public int featureCount;
+
+    @Label("Byte Size")
+    @Description("The size of the license in binary format")
+    @DataAmount
+    public int byteSize;
+
+    @Label("Outcome")
+    @Description("OK or the name of the exception")
+    public String outcome;
+}
@@ -0,0 +1,47 @@
+package javax0.license3j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Calculating the machine id, {@code HardwareBinder.getMachineId()} and the methods using it.
+ */
+@Name("javax0.license3j.MachineId")
+@Label("Machine Id")
+@Description("Calculating the id of the machine")
+@Category("License3j")
+@Enabled(false)
+@StackTrace(false)
+public final class MachineIdEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(MachineIdEvent.class);
+
+    /**
+     * Begin an event if a recording enables it. The event is not allocated when it is not enabled.
+     *
+     * @return the begun event or {@code null} if the event is not enabled
+     */
+    public static MachineIdEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        final var event = new MachineIdEvent();
+        event.begin();
+        return event;
+    }
+
+    @Label("Components")
+    @Description("The data used in the calculation, a combination of cloud, network, hostName and architecture")
+    public String components;
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Outcome")
+    @Description("OK or the name of the exception")
+    public String outcome;
+}
@@ -0,0 +1,43 @@
+package javax0.license3j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Checking if a license is revoked, {@code RevocableLicense.isRevoked()}.
+ */
+@Name("javax0.license3j.RevocationCheck")
+@Label("Revocation Check")
+@Description("Checking if a license is revoked")
+@Category("License3j")
+@Enabled(false)
+@StackTrace(false)
+public final class RevocationCheckEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(RevocationCheckEvent.class);
+
+    /**
+     * Begin an event if a recording enables it. The event is not allocated when it is not enabled.
+     *
+     * @return the begun event or {@code null} if the event is not enabled
+     */
+    public static RevocationCheckEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        final var event = new RevocationCheckEvent();
+        event.begin();
+        return event;
+    }
+
+    @Label("URL")
+    public String url;
+
+    @Label("Outcome")
+    @Description("REVOKED, NOT_REVOKED or the name of the exception")
+    public String outcome;
+}
@@ -0,0 +1,52 @@
+package javax0.license3j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Checking the signature of a license, {@code License.isOK()}.
+ */
+@Name("javax0.license3j.Verification")
+@Label("License Verification")
+@Description("Checking the signature of a license")
+@Category("License3j")
+@Enabled(false)
+@StackTrace(false)
+public final class VerificationEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(VerificationEvent.class);
+
+    /**
+     * Begin an event if a recording enables it. The event is not allocated when it is not enabled.
+     *
+     * @return the begun event or {@code null} if the event is not enabled
+     */
+    public static VerificationEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        final var event = new VerificationEvent();
+        event.begin();
+        return event;
+    }
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Feature Count")
+    public int featureCount;
+
+    @Label("Byte Size")
+    @Description("The size of the license in binary format")
+    @DataAmount
+    public int byteSize;
+
+    @Label("Outcome")
+    @Description("OK or the reason of the failure, the name of a BulkVerifier.Reason")
+    public String outcome;
+}
@@ -0,0 +1,121 @@
+package javax0.license3j.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations measured in nanoseconds.
+ * <p>
+ * The buckets have exponentially growing upper bounds. The upper bound of the first bucket is {@code 1024ns} (about a
+ * microsecond), every further bucket doubles the bound, and the last bucket collects everything above {@code 2^36ns}
+ * (about 69 seconds). Recording a value increments one bucket counter, adds the value to the sum and updates the
+ * maximum, all without locking. The values read while other threads record are not a consistent snapshot, but each
+ * of them is correct on its own.
+ */
+public final class Histogram {
+    private static final int FIRST_BOUND_BITS = 10;
+    private static final int LAST_BOUND_BITS = 36;
+    /**
+     * The number of buckets, including the last one that has no upper bound.
+     */
+    public static final int BUCKETS = LAST_BOUND_BITS - FIRST_BOUND_BITS + 2;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a duration. Negative values, which may happen when the clock is adjusted, are recorded as zero.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        final var value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * @param nanos the value
+     * @return the index of the bucket the value belongs to, the first bucket whose upper bound is not smaller than the
+     * value
+     */
+    static int bucketOf(long nanos) {
+        if (nanos <= 1L << FIRST_BOUND_BITS) {
+            return 0;
+        }
+        final var bits = 64 - Long.numberOfLeadingZeros(nanos - 1);
+        return Math.min(bits - FIRST_BOUND_BITS, BUCKETS - 1);
+    }
+
+    /**
+     * @param bucket the index of the bucket
+     * @return the upper bound of the bucket in nanoseconds, inclusive, or {@link Long#MAX_VALUE} for the last bucket
+     */
+    public static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : 1L << (bucket + FIRST_BOUND_BITS);
+    }
+
+    /**
+     * @param bucket the index of the bucket
+     * @return the number of values recorded in the bucket
+     */
+    public long count(int bucket) {
+        return counts.get(bucket);
+    }
+
+    /**
+     * @return the number of the recorded values
+     */
+    public long count() {
+        var count = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return the sum of the recorded values in nanoseconds
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return the largest recorded value in nanoseconds, zero if nothing was recorded
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Estimate a percentile. The result is the upper bound of the bucket that contains the percentile, but never more
+     * than the largest recorded value.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the estimated value in nanoseconds, zero if nothing was recorded
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile has to be between 0 and 100, it is " + percentile);
+        }
+        final var total = count();
+        if (total == 0) {
+            return 0;
+        }
+        final var rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        var seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max());
+            }
+        }
+        return max();
+    }
+}
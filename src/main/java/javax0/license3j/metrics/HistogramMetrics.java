@@ -0,0 +1,58 @@
+package javax0.license3j.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics that collect the durations of each operation in a {@link Histogram} and count the failures of each operation
+ * by the reason. Recording does not lock. Use {@link TextExposition} to format the collected values.
+ * <pre>
+ *     final var metrics = new HistogramMetrics();
+ *     Metrics.install(metrics);
+ *     ...
+ *     System.out.print(TextExposition.format(metrics));
+ * </pre>
+ */
+public class HistogramMetrics implements Metrics {
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, ConcurrentHashMap<String, LongAdder>> failures = new EnumMap<>(Operation.class);
+
+    public HistogramMetrics() {
+        for (final var operation : Operation.values()) {
+            histograms.put(operation, new Histogram());
+            failures.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void record(Operation operation, long nanos) {
+        histograms.get(operation).record(nanos);
+    }
+
+    @Override
+    public void failure(Operation operation, String reason) {
+        failures.get(operation).computeIfAbsent(reason, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * @param operation the operation
+     * @return the histogram of the durations of the operation
+     */
+    public Histogram histogram(Operation operation) {
+        return histograms.get(operation);
+    }
+
+    /**
+     * @param operation the operation
+     * @return an unmodifiable snapshot of the failure counts of the operation, sorted by the reason
+     */
+    public Map<String, Long> failures(Operation operation) {
+        final var snapshot = new TreeMap<String, Long>();
+        failures.get(operation).forEach((reason, count) -> snapshot.put(reason, count.sum()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+}
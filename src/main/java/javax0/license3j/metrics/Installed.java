@@ -0,0 +1,11 @@
+package javax0.license3j.metrics;
+
+/**
+ * Holds the metrics installed by {@link Metrics#install(Metrics)}. An interface cannot have a mutable field.
+ */
+final class Installed {
+    static volatile Metrics metrics = Metrics.NOOP;
+
+    private Installed() {
+    }
+}
@@ -0,0 +1,91 @@
+package javax0.license3j.metrics;
+
+/**
+ * Receive the latency and the failures of the license operations.
+ * <p>
+ * The library reports the time spent in the operations listed in {@link Operation} and the reasons of the failures to
+ * the metrics installed calling {@link #install(Metrics)}. The default is {@link #NOOP}, which does not even read the
+ * clock. {@link HistogramMetrics} is a lock-free implementation that collects the values in histograms, and
+ * {@link TextExposition} formats them as plain text. Applications that already use a metrics library can implement
+ * this interface forwarding the values to it.
+ * <p>
+ * The reason of a failed signature check is the name of the {@code BulkVerifier.Reason} or {@code INVALID_KEY} if the
+ * key cannot be parsed. The reason of the other operations is the simple name of the class of the exception.
+ * <p>
+ * The implementations have to be thread safe, and they should return fast, because they are called on the hot path.
+ */
+public interface Metrics {
+
+    /**
+     * Metrics that ignore everything.
+     */
+    Metrics NOOP = new Metrics() {
+        @Override
+        public void record(Operation operation, long nanos) {
+        }
+
+        @Override
+        public void failure(Operation operation, String reason) {
+        }
+
+        @Override
+        public long start() {
+            return 0;
+        }
+
+        @Override
+        public void stop(Operation operation, long start) {
+        }
+    };
+
+    /**
+     * Record the execution time of an operation.
+     *
+     * @param operation the operation
+     * @param nanos     the elapsed time in nanoseconds
+     */
+    void record(Operation operation, long nanos);
+
+    /**
+     * Count a failure of an operation.
+     *
+     * @param operation the operation that failed
+     * @param reason    the reason of the failure
+     */
+    void failure(Operation operation, String reason);
+
+    /**
+     * Start the timing of an operation.
+     *
+     * @return the value to be passed to {@link #stop(Operation, long)}
+     */
+    default long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Finish the timing of an operation and record the elapsed time.
+     *
+     * @param operation the operation
+     * @param start     the value returned by {@link #start()}
+     */
+    default void stop(Operation operation, long start) {
+        record(operation, System.nanoTime() - start);
+    }
+
+    /**
+     * Install the process-wide metrics.
+     *
+     * @param metrics the metrics to report to or {@code null} to switch off reporting
+     */
+    static void install(Metrics metrics) {
+        Installed.metrics = metrics == null ? NOOP : metrics;
+    }
+
+    /**
+     * @return the installed metrics, {@link #NOOP} if none was installed
+     */
+    static Metrics current() {
+        return Installed.metrics;
+    }
+}
@@ -0,0 +1,44 @@
+package javax0.license3j.metrics;
+
+import java.util.Locale;
+
+/**
+ * The license operations that are reported to the {@link Metrics}.
+ */
+public enum Operation {
+    /**
+     * Checking the signature of a license, {@code License.isOK()}.
+     */
+    VERIFY,
+    /**
+     * Signing a license, {@code License.sign()}.
+     */
+    SIGN,
+    /**
+     * Reading a license, {@code LicenseReader.read()}.
+     */
+    READ,
+    /**
+     * Getting the machine id, {@code HardwareBinder.getMachineId()} and the methods using it. When the machine id is
+     * cached, the calls answered from the cache are also counted and timed.
+     */
+    MACHINE_ID,
+    /**
+     * Fetching the instance id from the metadata service of a cloud provider, {@code CloudProvider.getInstanceId()}.
+     */
+    CLOUD_INSTANCE_ID,
+    /**
+     * Checking if a license is revoked, {@code RevocableLicense.isRevoked()}.
+     */
+    REVOCATION_CHECK;
+
+    private final String label = name().toLowerCase(Locale.ROOT);
+
+    /**
+     * @return the name of the operation in lower case, as it is used in the exposition formats, for example
+     * {@code machine_id}
+     */
+    public String label() {
+        return label;
+    }
+}
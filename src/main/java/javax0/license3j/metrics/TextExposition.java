@@ -0,0 +1,85 @@
+package javax0.license3j.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Format the values collected by {@link HistogramMetrics} in the plain text exposition format that Prometheus and
+ * compatible tools scrape. For example
+ * <pre>
+ * # TYPE license3j_operation_seconds histogram
+ * license3j_operation_seconds_bucket{operation="verify",le="1.024E-6"} 0
+ * ...
+ * license3j_operation_seconds_bucket{operation="verify",le="+Inf"} 12
+ * license3j_operation_seconds_sum{operation="verify"} 0.000873
+ * license3j_operation_seconds_count{operation="verify"} 12
+ * ...
+ * # TYPE license3j_failures_total counter
+ * license3j_failures_total{operation="verify",reason="BAD_SIGNATURE"} 1
+ * </pre>
+ * The durations are in seconds, the buckets are cumulative.
+ */
+public final class TextExposition {
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final String HISTOGRAM = "license3j_operation_seconds";
+    private static final String FAILURES = "license3j_failures_total";
+
+    private TextExposition() {
+    }
+
+    /**
+     * @param metrics the metrics to format
+     * @return the text exposition of the metrics
+     */
+    public static String format(HistogramMetrics metrics) {
+        final var sb = new StringBuilder();
+        try {
+            write(metrics, sb);
+        } catch (IOException e) {
+            // StringBuilder does not throw IOException
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Write the text exposition of the metrics.
+     *
+     * @param metrics the metrics to format
+     * @param out     where to write the text
+     * @throws IOException if {@code out} throws
+     */
+    public static void write(HistogramMetrics metrics, Appendable out) throws IOException {
+        out.append("# TYPE ").append(HISTOGRAM).append(" histogram\n");
+        for (final var operation : Operation.values()) {
+            final var histogram = metrics.histogram(operation);
+            var cumulative = 0L;
+            for (int i = 0; i < Histogram.BUCKETS; i++) {
+                cumulative += histogram.count(i);
+                final var le = i == Histogram.BUCKETS - 1 ? "+Inf"
+                        : Double.toString(Histogram.upperBound(i) / NANOS_PER_SECOND);
+                out.append(HISTOGRAM).append("_bucket{operation=\"").append(operation.label())
+                        .append("\",le=\"").append(le).append("\"} ").append(Long.toString(cumulative)).append('\n');
+            }
+            out.append(HISTOGRAM).append("_sum{operation=\"").append(operation.label()).append("\"} ")
+                    .append(Double.toString(histogram.sum() / NANOS_PER_SECOND)).append('\n');
+            out.append(HISTOGRAM).append("_count{operation=\"").append(operation.label()).append("\"} ")
+                    .append(Long.toString(cumulative)).append('\n');
+        }
+        out.append("# TYPE ").append(FAILURES).append(" counter\n");
+        for (final var operation : Operation.values()) {
+            for (final var failure : metrics.failures(operation).entrySet()) {
+                out.append(FAILURES).append("{operation=\"").append(operation.label())
+                        .append("\",reason=\"").append(escape(failure.getKey())).append("\"} ")
+                        .append(Long.toString(failure.getValue())).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Escape a label value: backslash, double quote and new line are escaped with a backslash.
+     */
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
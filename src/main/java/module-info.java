@@ -1,8 +1,18 @@
+/**
+ * License3j, a license management library.
+ * <p>
+ * The module requires {@code jdk.jfr}, because the library reports its operations as Java Flight Recorder events. A
+ * runtime image created with {@code jlink} has to contain {@code jdk.jfr}, otherwise this module does not resolve. The
+ * event types are in the package {@code javax0.license3j.jfr}, which is not exported. They are only seen through
+ * the recordings.
+ */
 module com.javax0.license3j {
     requires java.net.http;
+    requires jdk.jfr;
     exports javax0.license3j;
     exports javax0.license3j.crypto;
     exports javax0.license3j.io;
     exports javax0.license3j.parsers;
     exports javax0.license3j.hardware;
+    exports javax0.license3j.metrics;
 }
\ No newline at end of file
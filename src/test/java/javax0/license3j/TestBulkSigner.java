@@ -0,0 +1,118 @@
+package javax0.license3j;
+
+import javax0.license3j.crypto.LicenseKeyPair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+public class TestBulkSigner {
+    private static LicenseKeyPair keyPair;
+
+    @BeforeAll
+    static void createKeys() throws Exception {
+        keyPair = LicenseKeyPair.Create.from("RSA", 1024);
+    }
+
+    private static List<License> licenses(int n) {
+        final var licenses = new ArrayList<License>();
+        for (int i = 0; i < n; i++) {
+            final var license = new License();
+            license.add(Feature.Create.intFeature("serial", i));
+            licenses.add(license);
+        }
+        return licenses;
+    }
+
+    @Test
+    @DisplayName("All licenses are signed, kept in order and the progress is reported")
+    void signsAllInOrder() throws Exception {
+        final var licenses = licenses(40);
+        final var progress = new AtomicInteger();
+        final var sut = new BulkSigner(keyPair.getPair().getPrivate(), "SHA-512", new ForkJoinPool(4))
+                .progress((signed, total) -> {
+                    Assertions.assertEquals(40, total);
+                    progress.incrementAndGet();
+                });
+        final var signed = sut.sign(licenses);
+        Assertions.assertEquals(40, progress.get());
+        for (int i = 0; i < licenses.size(); i++) {
+            Assertions.assertSame(licenses.get(i), signed.get(i));
+            Assertions.assertTrue(signed.get(i).isOK(keyPair.getPair().getPublic()));
+        }
+    }
+
+    @Test
+    @DisplayName("Licenses from a stream are signed in an executor")
+    void signsStream() throws Exception {
+        final var executor = Executors.newFixedThreadPool(3);
+        try {
+            final var sut = new BulkSigner(keyPair.getPair().getPrivate(), "SHA-256", executor, 3);
+            final var signed = sut.sign(licenses(10).stream());
+            Assertions.assertEquals(10, signed.size());
+            IntStream.range(0, 10).forEach(i -> {
+                Assertions.assertEquals(i, signed.get(i).get("serial").getInt());
+                Assertions.assertTrue(signed.get(i).isOK(keyPair.getPair().getPublic()));
+            });
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Signing from a task of a saturated fork join pool does not wait for the pool")
+    void signsInsideSaturatedPool() throws Exception {
+        final var pool = new ForkJoinPool(1);
+        try {
+            final var sut = new BulkSigner(keyPair.getPair().getPrivate(), "SHA-256", pool, 4);
+            final var signed = pool.submit(() -> sut.sign(licenses(8))).get(30, TimeUnit.SECONDS);
+            Assertions.assertEquals(8, signed.size());
+            signed.forEach(license -> Assertions.assertTrue(license.isOK(keyPair.getPair().getPublic())));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelling the signing stops it and the caller gets CancellationException")
+    void cancel() {
+        final var licenses = licenses(40);
+        final var sut = new BulkSigner(keyPair.getPair().getPrivate(), "SHA-512", new ForkJoinPool(2));
+        sut.progress((signed, total) -> sut.cancel());
+        Assertions.assertThrows(CancellationException.class, () -> sut.sign(licenses));
+        Assertions.assertTrue(licenses.stream().anyMatch(license -> license.get("licenseSignature") == null));
+    }
+
+    @Test
+    @DisplayName("Cancelling after the last license was signed returns the signed licenses")
+    void cancelAfterCompletion() throws Exception {
+        final var licenses = licenses(10);
+        final var sut = new BulkSigner(keyPair.getPair().getPrivate(), "SHA-512", new ForkJoinPool(2));
+        sut.progress((signed, total) -> {
+            if (signed == total) {
+                sut.cancel();
+            }
+        });
+        final var signed = sut.sign(licenses);
+        Assertions.assertEquals(10, signed.size());
+        signed.forEach(license -> Assertions.assertTrue(license.isOK(keyPair.getPair().getPublic())));
+    }
+
+    @Test
+    @DisplayName("The first failure is thrown to the caller")
+    void failure() {
+        final var licenses = licenses(10);
+        licenses.set(5, licenses.get(5).freeze());
+        final var sut = new BulkSigner(keyPair.getPair().getPrivate(), "SHA-512");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> sut.sign(licenses));
+    }
+}
@@ -0,0 +1,110 @@
+package javax0.license3j;
+
+import javax0.license3j.crypto.LicenseKeyPair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+public class TestBulkVerifier {
+    private static LicenseKeyPair keyPair1;
+    private static LicenseKeyPair keyPair2;
+    private static LicenseKeyPair keyPair3;
+
+    @BeforeAll
+    static void createKeys() throws Exception {
+        keyPair1 = LicenseKeyPair.Create.from("RSA", 1024);
+        keyPair2 = LicenseKeyPair.Create.from("RSA", 1024);
+        keyPair3 = LicenseKeyPair.Create.from("RSA", 1024);
+    }
+
+    private static License license(int i) {
+        final var license = new License();
+        license.add(Feature.Create.intFeature("serial", i));
+        return license;
+    }
+
+    private static List<License> licenses() throws Exception {
+        final var licenses = new ArrayList<License>();
+        // 0: signed with the first key
+        var license = license(0);
+        license.sign(keyPair1.getPair().getPrivate(), "SHA-512");
+        licenses.add(license);
+        // 1: signed with the second key
+        license = license(1);
+        license.sign(keyPair2.getPair().getPrivate(), "SHA-256");
+        licenses.add(license);
+        // 2: modified after signing
+        license = license(2);
+        license.sign(keyPair1.getPair().getPrivate(), "SHA-512");
+        license.add(Feature.Create.intFeature("serial", 22));
+        licenses.add(license);
+        // 3: not signed
+        licenses.add(license(3));
+        // 4: signature without digest
+        license = license(4);
+        license.sign(keyPair1.getPair().getPrivate(), "SHA-512");
+        final var noDigest = new License();
+        noDigest.add(license.get("serial"));
+        noDigest.add(license.get("licenseSignature"));
+        licenses.add(noDigest);
+        // 5: signed with a key that is not known to the verifier
+        license = license(5);
+        license.sign(keyPair3.getPair().getPrivate(), "SHA-512");
+        licenses.add(license);
+        return licenses;
+    }
+
+    @Test
+    @DisplayName("Every license gets the reason why it is or it is not OK, in the original order")
+    void reasons() throws Exception {
+        final var sut = new BulkVerifier(keyPair1.getPair().getPublic(), keyPair2.getPair().getPublic());
+        final var result = sut.verify(licenses());
+        Assertions.assertEquals(6, result.size());
+        Assertions.assertEquals(BulkVerifier.Reason.OK, result.get(0));
+        Assertions.assertEquals(BulkVerifier.Reason.OK, result.get(1));
+        Assertions.assertEquals(BulkVerifier.Reason.BAD_SIGNATURE, result.get(2));
+        Assertions.assertEquals(BulkVerifier.Reason.MISSING_SIGNATURE, result.get(3));
+        Assertions.assertEquals(BulkVerifier.Reason.MISSING_DIGEST, result.get(4));
+        Assertions.assertEquals(BulkVerifier.Reason.UNKNOWN_KEY, result.get(5));
+        Assertions.assertTrue(result.isOK(0));
+        Assertions.assertFalse(result.isOK(2));
+        Assertions.assertEquals(2, result.count(BulkVerifier.Reason.OK));
+        Assertions.assertFalse(result.allOK());
+    }
+
+    @Test
+    @DisplayName("The bulk verification gives the same result as isOK for every license")
+    void sameAsIsOK() throws Exception {
+        final var licenses = new ArrayList<License>();
+        for (int i = 0; i < 50; i++) {
+            final var license = license(i);
+            license.sign(keyPair1.getPair().getPrivate(), "SHA-512");
+            if (i % 7 == 0) {
+                license.add(Feature.Create.stringFeature("tampered", "yes"));
+            }
+            licenses.add(license);
+        }
+        final var executor = Executors.newFixedThreadPool(4);
+        try {
+            final var result = new BulkVerifier(executor, 4, keyPair1.getPair().getPublic()).verify(licenses.stream());
+            for (int i = 0; i < licenses.size(); i++) {
+                Assertions.assertEquals(licenses.get(i).isOK(keyPair1.getPair().getPublic()), result.isOK(i));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Empty batch gives empty result")
+    void empty() {
+        final var result = new BulkVerifier(keyPair1.getPair().getPublic()).verify(List.of());
+        Assertions.assertEquals(0, result.size());
+        Assertions.assertTrue(result.allOK());
+    }
+}
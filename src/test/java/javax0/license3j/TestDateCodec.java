@@ -0,0 +1,117 @@
+package javax0.license3j;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+public class TestDateCodec {
+    private static final String[] FORMATS = {"yyyy-MM-dd HH:mm:ss.SSS", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm",
+            "yyyy-MM-dd HH", "yyyy-MM-dd"};
+
+    private static SimpleDateFormat simpleDateFormat(String format) {
+        final var sdf = new SimpleDateFormat(format, Locale.ROOT);
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return sdf;
+    }
+
+    /**
+     * The way the dates were parsed before {@link DateCodec} was introduced.
+     */
+    private static Date legacyParse(String date) {
+        for (var format : FORMATS) {
+            try {
+                return simpleDateFormat(format).parse(date);
+            } catch (ParseException ignored) {
+            }
+        }
+        return null;
+    }
+
+    @Test
+    @DisplayName("Formatting gives the same string as SimpleDateFormat")
+    void formatIsCompatible() {
+        final var random = new Random(1583);
+        final long[] samples = {0L, -1L, 1545047719295L, Long.MIN_VALUE / 1000, Long.MAX_VALUE / 1000,
+                -12219292800000L, -12219292800001L, -11644473600000L, 253402300799999L, 253402300800000L};
+        for (final var millis : samples) {
+            Assertions.assertEquals(simpleDateFormat(FORMATS[0]).format(new Date(millis)),
+                    DateCodec.format(new Date(millis)));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            final var millis = random.nextLong() % 400_000_000_000_000L;
+            Assertions.assertEquals(simpleDateFormat(FORMATS[0]).format(new Date(millis)),
+                    DateCodec.format(new Date(millis)), "millis=" + millis);
+        }
+    }
+
+    @Test
+    @DisplayName("Parsing gives the same date as SimpleDateFormat for regular and odd inputs")
+    void parseIsCompatible() {
+        final String[] samples = {"2018-12-17 12:55:19.295", "2018-12-17 12:55:19", "2018-12-17 12:55", "2018-12-17 12",
+                "2018-12-17", "2018-12-17 12:55:19.5", "2018-12-17 12:55:19.1234", "2018-13-40 25:61:61.1234",
+                "2018-00-00", "1583-00-01", "1582-10-15", "1582-10-04 23:59", "0001-01-01", "02018-1-1",
+                "2018-12-17 12:55:19.", "2018-12-17 12:55:19.x", "2018-12-17junk", "2018-12-17 12E1",
+                "2018-12-17  12:00", "2018-12-17 -1:00", "2018-12-17 +1:00", "2018-12-17\t12", "10000-01-01",
+                "2018-12-17 999999999", "2018-999999999-1", "2018-12-17 1234567890", "2018- 12-17",
+                "2018-12-17 12:55:19.295 trailing text", "9999-12-31 23:59:59.999"};
+        for (final var sample : samples) {
+            Assertions.assertEquals(legacyParse(sample), DateCodec.parse(sample), sample);
+        }
+    }
+
+    @Test
+    @DisplayName("Random valid and damaged dates are parsed the same way as SimpleDateFormat did")
+    void parseFuzz() {
+        final var random = new Random(2018);
+        final var alphabet = "0123456789-: .E+x\t";
+        for (int i = 0; i < 20_000; i++) {
+            final var millis = random.nextLong() % 300_000_000_000_000L;
+            final var sb = new StringBuilder(simpleDateFormat(FORMATS[random.nextInt(FORMATS.length)])
+                    .format(new Date(millis)));
+            final var damages = random.nextInt(3);
+            for (int j = 0; j < damages; j++) {
+                final var at = random.nextInt(sb.length() + 1);
+                final var c = alphabet.charAt(random.nextInt(alphabet.length()));
+                if (random.nextBoolean() && at < sb.length()) {
+                    sb.setCharAt(at, c);
+                } else {
+                    sb.insert(at, c);
+                }
+            }
+            final var text = sb.toString();
+            final var expected = legacyParse(text);
+            if (expected == null) {
+                Assertions.assertThrows(IllegalArgumentException.class, () -> DateCodec.parse(text), text);
+            } else {
+                Assertions.assertEquals(expected, DateCodec.parse(text), text);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Text that is not a date is rejected")
+    void notADate() {
+        for (final var text : new String[]{"", "2018", "2018-12", "2018-12-", "today", "-"}) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> DateCodec.parse(text), text);
+        }
+    }
+
+    @Test
+    @DisplayName("A date feature can be read as an Instant and it survives the text form")
+    void instant() {
+        final var sut = Feature.Create.dateFeature("expiry", new Date(1545047719295L));
+        Assertions.assertEquals(Instant.ofEpochMilli(1545047719295L), sut.getInstant());
+        Assertions.assertEquals("expiry:DATE=2018-12-17 11:55:19.295", sut.toString());
+        Assertions.assertEquals(sut.getDate(), Feature.Create.from(sut.toString()).getDate());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> Feature.Create.stringFeature("s", "x").getInstant());
+    }
+}
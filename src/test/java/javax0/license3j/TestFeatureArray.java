@@ -0,0 +1,84 @@
+package javax0.license3j;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class TestFeatureArray {
+
+    @Test
+    @DisplayName("Features put in random order are kept sorted and can be found")
+    void keepsSorted() {
+        final var sut = new FeatureArray();
+        final var expected = new TreeMap<String, Feature>();
+        final var names = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            names.add("feature" + i);
+        }
+        Collections.shuffle(names, new Random(17));
+        for (final var name : names) {
+            final var feature = Feature.Create.stringFeature(name, name);
+            Assertions.assertNull(sut.put(feature));
+            expected.put(name, feature);
+        }
+        Assertions.assertArrayEquals(expected.values().toArray(), sut.sorted(Set.of()));
+        for (final var name : names) {
+            Assertions.assertSame(expected.get(name), sut.get(name));
+        }
+        Assertions.assertNull(sut.get("nonexistent"));
+        Assertions.assertNull(sut.get(null));
+    }
+
+    @Test
+    @DisplayName("Putting a feature with the same name replaces the old one")
+    void replaces() {
+        final var sut = new FeatureArray();
+        final var old = Feature.Create.stringFeature("a", "old");
+        sut.put(old);
+        sut.put(Feature.Create.stringFeature("b", "b"));
+        final var replacement = Feature.Create.intFeature("a", 1);
+        Assertions.assertSame(old, sut.put(replacement));
+        Assertions.assertSame(replacement, sut.get("a"));
+        Assertions.assertEquals(2, sut.sorted(Set.of()).length);
+    }
+
+    @Test
+    @DisplayName("Excluded features are left out and the copy is independent")
+    void excludeAndCopy() {
+        final var sut = new FeatureArray();
+        for (final var name : List.of("c", "a", "b")) {
+            sut.put(Feature.Create.stringFeature(name, name));
+        }
+        final var copy = new FeatureArray(sut);
+        copy.put(Feature.Create.stringFeature("d", "d"));
+        final var sorted = sut.sorted(Set.of("b"));
+        Assertions.assertEquals(2, sorted.length);
+        Assertions.assertEquals("a", sorted[0].name());
+        Assertions.assertEquals("c", sorted[1].name());
+        Assertions.assertNull(sut.get("d"));
+        Assertions.assertNotNull(copy.get("d"));
+    }
+
+    @Test
+    @DisplayName("The map view is sorted, searchable and unmodifiable")
+    void mapView() {
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("b", "b"));
+        license.add(Feature.Create.stringFeature("a", "a"));
+        final var map = license.getFeatures();
+        Assertions.assertEquals(List.of("a", "b"), new ArrayList<>(map.keySet()));
+        Assertions.assertEquals("b", map.get("b").getString());
+        Assertions.assertTrue(map.containsKey("a"));
+        Assertions.assertFalse(map.containsKey(1));
+        Assertions.assertEquals(new TreeMap<>(map), map);
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> map.put("c", Feature.Create.stringFeature("c", "c")));
+    }
+}
@@ -0,0 +1,57 @@
+package javax0.license3j;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.UUID;
+
+public class TestFeatureMemoization {
+
+    @Test
+    @DisplayName("Immutable decoded values are returned as the same object on repeated reads")
+    void sameObject() {
+        final var string = Feature.Create.stringFeature("s", "value");
+        Assertions.assertSame(string.getString(), string.getString());
+        final var bigInteger = Feature.Create.bigIntegerFeature("bi", new BigInteger("12345678901234567890"));
+        Assertions.assertSame(bigInteger.getBigInteger(), bigInteger.getBigInteger());
+        final var bigDecimal = Feature.Create.bigDecimalFeature("bd", new BigDecimal("-12.345"));
+        Assertions.assertSame(bigDecimal.getBigDecimal(), bigDecimal.getBigDecimal());
+        Assertions.assertEquals(new BigDecimal("-12.345"), bigDecimal.getBigDecimal());
+        final var uuid = Feature.Create.uuidFeature("u", new UUID(1, 2));
+        Assertions.assertSame(uuid.getUUID(), uuid.getUUID());
+        Assertions.assertEquals(new UUID(1, 2), uuid.getUUID());
+    }
+
+    @Test
+    @DisplayName("Views memoize the decoded value the same way")
+    void viewsAreMemoized() {
+        final var serialized = Feature.Create.stringFeature("s", "value").serialized();
+        final var sut = Feature.Create.from(ByteBuffer.allocateDirect(serialized.length).put(serialized).flip());
+        Assertions.assertEquals("value", sut.getString());
+        Assertions.assertSame(sut.getString(), sut.getString());
+    }
+
+    @Test
+    @DisplayName("Dates are not shared, modifying the returned date does not change the feature")
+    void datesAreNotShared() {
+        final var sut = Feature.Create.dateFeature("d", new Date(1000L));
+        sut.getDate().setTime(2000L);
+        Assertions.assertEquals(new Date(1000L), sut.getDate());
+        Assertions.assertNotSame(sut.getDate(), sut.getDate());
+    }
+
+    @Test
+    @DisplayName("Reading the value as a wrong type still throws after the value was memoized")
+    void wrongTypeThrows() {
+        final var sut = Feature.Create.stringFeature("s", "value");
+        sut.getString();
+        Assertions.assertThrows(IllegalArgumentException.class, sut::getUUID);
+        Assertions.assertThrows(IllegalArgumentException.class, sut::getBigDecimal);
+        Assertions.assertThrows(IllegalArgumentException.class, sut::getBigInteger);
+    }
+}
@@ -0,0 +1,101 @@
+package javax0.license3j;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Date;
+import java.util.UUID;
+
+public class TestFeatureView {
+
+    private static Feature[] samples() {
+        return new Feature[]{
+                Feature.Create.binaryFeature("binary", new byte[]{1, 2, 3}),
+                Feature.Create.stringFeature("string", "\u00e1rv\u00edzt\u0171r\u0151 t\u00fck\u00f6rf\u00far\u00f3g\u00e9p"),
+                Feature.Create.byteFeature("byte", (byte) -7),
+                Feature.Create.shortFeature("short", (short) -300),
+                Feature.Create.intFeature("int", 0x12345678),
+                Feature.Create.longFeature("long", -0x123456789AL),
+                Feature.Create.floatFeature("float", 3.14f),
+                Feature.Create.doubleFeature("double", -2.718),
+                Feature.Create.bigIntegerFeature("bigInteger", new BigInteger("-123456789012345678901234567890")),
+                Feature.Create.bigDecimalFeature("bigDecimal", new BigDecimal("-1234567890.0987654321")),
+                Feature.Create.dateFeature("date", new Date(1545047719295L)),
+                Feature.Create.uuidFeature("uuid", new UUID(0x1122334455667788L, 0x99AABBCCDDEEFF00L)),
+        };
+    }
+
+    private static ByteBuffer embed(byte[] serialized, boolean direct, ByteOrder order) {
+        final var buffer = direct ? ByteBuffer.allocateDirect(serialized.length + 20) : ByteBuffer.allocate(serialized.length + 20);
+        buffer.order(order).position(7);
+        buffer.put(serialized);
+        return buffer.flip().position(7);
+    }
+
+    @Test
+    @DisplayName("A feature view returns the same values as the decoded feature for heap and direct buffers")
+    void viewsAreTheSame() {
+        for (final var direct : new boolean[]{false, true}) {
+            for (final var feature : samples()) {
+                final var serialized = feature.serialized();
+                final var buffer = embed(serialized, direct, ByteOrder.LITTLE_ENDIAN);
+                final var sut = Feature.Create.from(buffer);
+                Assertions.assertTrue(sut.isView());
+                Assertions.assertFalse(feature.isView());
+                Assertions.assertEquals(7, buffer.position());
+                Assertions.assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+                Assertions.assertEquals(feature.toString(), sut.toString());
+                Assertions.assertEquals(feature.valueString(), sut.valueString());
+                Assertions.assertArrayEquals(serialized, sut.serialized());
+                Assertions.assertEquals(serialized.length, sut.serializedSize());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("The binary value of a view is a copy")
+    void binaryViewIsCopied() {
+        final var buffer = embed(Feature.Create.binaryFeature("binary", new byte[]{1, 2, 3}).serialized(),
+                false, ByteOrder.BIG_ENDIAN);
+        final var sut = Feature.Create.from(buffer);
+        sut.getBinary()[0] = 55;
+        Assertions.assertEquals(1, sut.getBinary()[0]);
+    }
+
+    @Test
+    @DisplayName("A license created from a buffer has the same features and forms as the one created from an array")
+    void licenseFromBuffer() {
+        final var license = new License();
+        for (final var feature : samples()) {
+            license.add(feature);
+        }
+        final var serialized = license.serialized();
+        for (final var direct : new boolean[]{false, true}) {
+            final var sut = License.Create.from(embed(serialized, direct, ByteOrder.BIG_ENDIAN));
+            Assertions.assertArrayEquals(serialized, sut.serialized());
+            Assertions.assertEquals(license.toString(), sut.toString());
+            Assertions.assertEquals(license.fingerprint(), sut.fingerprint());
+            Assertions.assertTrue(sut.get("uuid").isView());
+        }
+    }
+
+    @Test
+    @DisplayName("A corrupt buffer is rejected")
+    void corruptBuffer() {
+        final var serialized = Feature.Create.stringFeature("string", "value").serialized();
+        final var truncated = ByteBuffer.wrap(serialized, 0, serialized.length - 1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Feature.Create.from(truncated));
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("string", "value"));
+        final var ls = license.serialized();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> License.Create.from(ByteBuffer.wrap(ls, 0, ls.length - 1)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> License.Create.from(ByteBuffer.wrap(new byte[]{1, 2, 3, 4})));
+    }
+}
@@ -0,0 +1,97 @@
+package javax0.license3j;
+
+import javax0.license3j.crypto.LicenseKeyPair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+public class TestFrozenLicense {
+
+    private static License sample() {
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("owner", "Peter Verhas"));
+        license.add(Feature.Create.dateFeature("expiry", new Date(1545047719295L)));
+        license.add(Feature.Create.binaryFeature("payload", new byte[]{1, 2, 3}));
+        return license;
+    }
+
+    @Test
+    @DisplayName("The frozen license has the same serialized form, fingerprint and string as the original")
+    void frozenIsTheSame() {
+        final var license = sample();
+        final var sut = license.freeze();
+        Assertions.assertArrayEquals(license.serialized(), sut.serialized());
+        Assertions.assertArrayEquals(license.unsigned(), sut.unsigned());
+        Assertions.assertEquals(license.fingerprint(), sut.fingerprint());
+        Assertions.assertEquals(license.toString(), sut.toString());
+        Assertions.assertEquals(license.getFeatures().keySet(), sut.getFeatures().keySet());
+    }
+
+    @Test
+    @DisplayName("Modification of the original license or the returned arrays does not change the frozen license")
+    void frozenIsDetached() {
+        final var license = sample();
+        final var sut = license.freeze();
+        final var serialized = sut.serialized();
+        license.get("payload").getBinary()[0] = 55;
+        license.add(Feature.Create.stringFeature("owner", "Someone Else"));
+        sut.serialized()[0] = 0;
+        Assertions.assertArrayEquals(serialized, sut.serialized());
+        Assertions.assertEquals("Peter Verhas", sut.get("owner").getString());
+        Assertions.assertEquals(1, sut.get("payload").getBinary()[0]);
+    }
+
+    @Test
+    @DisplayName("Freezing a license read from a buffer copies the values, reusing the buffer does not change it")
+    void frozenBufferLicenseIsDetached() {
+        final var bytes = sample().serialized();
+        final var buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        final var sut = License.Create.from(buffer).freeze();
+        final var serialized = sut.serialized();
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) 0x55);
+        }
+        Assertions.assertArrayEquals(serialized, sut.serialized());
+        Assertions.assertEquals("Peter Verhas", sut.get("owner").getString());
+        Assertions.assertEquals(1545047719295L, sut.get("expiry").getDate().getTime());
+        Assertions.assertFalse(sut.get("owner").isView());
+        Assertions.assertEquals(1, sut.get("payload").getBinary()[0]);
+    }
+
+    @Test
+    @DisplayName("The frozen license cannot be modified")
+    void frozenCannotBeModified() throws Exception {
+        final var sut = sample().freeze();
+        final var keyPair = LicenseKeyPair.Create.from("RSA", 1024);
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> sut.add(Feature.Create.stringFeature("owner", "Someone Else")));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> sut.setExpiry(new Date()));
+        Assertions.assertThrows(UnsupportedOperationException.class, sut::setLicenseId);
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> sut.sign(keyPair.getPair().getPrivate(), "SHA-512"));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> sut.getFeatures().put("x", Feature.Create.stringFeature("x", "y")));
+    }
+
+    @Test
+    @DisplayName("A signed license is still OK after it was frozen, and the thawed copy can be modified")
+    void signedFrozenLicense() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("RSA", 2048);
+        final var license = sample();
+        license.sign(keyPair.getPair().getPrivate(), "SHA-512");
+        final var sut = license.freeze();
+        Assertions.assertTrue(sut.isOK(keyPair.getPair().getPublic()));
+        sut.getSignature()[0] = (byte) ~sut.getSignature()[0];
+        Assertions.assertTrue(sut.isOK(keyPair.getPair().getPublic()));
+        Assertions.assertEquals(sut, license.freeze());
+        Assertions.assertEquals(sut.hashCode(), license.freeze().hashCode());
+        final var thawed = sut.thaw();
+        thawed.add(Feature.Create.stringFeature("owner", "Someone Else"));
+        Assertions.assertFalse(thawed.isOK(keyPair.getPair().getPublic()));
+        Assertions.assertNotEquals(sut, thawed.freeze());
+    }
+}
@@ -1,5 +1,12 @@
 package javax0.license3j;
 
+import javax0.license3j.hardware.CloudProvider;
+import javax0.license3j.hardware.Network;
+import javax0.license3j.hardware.UUIDCalculator;
+import javax0.license3j.metrics.HistogramMetrics;
+import javax0.license3j.metrics.Metrics;
+import javax0.license3j.metrics.Operation;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -7,7 +14,14 @@ import org.junit.jupiter.api.Test;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 public class TestHardwareBinder {
 
@@ -117,4 +131,155 @@ public class TestHardwareBinder {
             }
         }
     }
+
+    @AfterEach
+    void uninstallMetrics() {
+        Metrics.install(null);
+    }
+
+    /**
+     * Counts the calculations of the machine id, the calls answered from the cache do not get here.
+     */
+    private static class CountingCalculator extends UUIDCalculator {
+        private final AtomicInteger calculations = new AtomicInteger();
+
+        private CountingCalculator(Network.Interface.Selector selector) {
+            super(selector);
+        }
+
+        @Override
+        public UUID getMachineId(CloudProvider cloudProvider, boolean useNetwork, boolean useHostName,
+                                 boolean useArchitecture)
+            throws SocketException, UnknownHostException, NoSuchAlgorithmException {
+            calculations.incrementAndGet();
+            return super.getMachineId(cloudProvider, useNetwork, useHostName, useArchitecture);
+        }
+
+        @Override
+        public CompletableFuture<UUID> getMachineIdAsync(CloudProvider cloudProvider, boolean useNetwork,
+                                                         boolean useHostName, boolean useArchitecture,
+                                                         Duration timeout) {
+            calculations.incrementAndGet();
+            return super.getMachineIdAsync(cloudProvider, useNetwork, useHostName, useArchitecture, timeout);
+        }
+    }
+
+    private CountingCalculator calculator;
+
+    private HardwareBinder binder(LongSupplier clock, HardwareBinder.InterfaceFingerprint fingerprint) {
+        return new HardwareBinder(clock, fingerprint, selector -> calculator = new CountingCalculator(selector));
+    }
+
+    private int calculations() {
+        return calculator.calculations.get();
+    }
+
+    @Test
+    @DisplayName("the cached machine UUID is used until the time to live is over and the interfaces did not change")
+    public void cachedUntilInterfacesChange() throws Exception {
+        final var clock = new AtomicLong();
+        final var fingerprint = new AtomicLong();
+        final var hb = binder(clock::get, fingerprint::get).cacheFor(Duration.ofNanos(100));
+        final var uuid = hb.getMachineId();
+        Assertions.assertEquals(new HardwareBinder().getMachineId(), uuid);
+        Assertions.assertTrue(hb.assertUUID(uuid));
+        Assertions.assertTrue(hb.assertUUID(uuid.toString()));
+        Assertions.assertEquals(uuid.toString(), hb.getMachineIdString());
+        Assertions.assertEquals(1, calculations());
+        clock.set(1000);
+        Assertions.assertEquals(uuid, hb.getMachineId());
+        Assertions.assertEquals(1, calculations(), "unchanged fingerprint must not recalculate");
+        fingerprint.set(1);
+        Assertions.assertEquals(uuid, hb.getMachineId());
+        Assertions.assertEquals(1, calculations(), "fingerprint is not checked before the time to live is over");
+        clock.set(2000);
+        Assertions.assertEquals(uuid, hb.getMachineId());
+        Assertions.assertEquals(2, calculations());
+        hb.invalidateCache();
+        hb.getMachineId();
+        Assertions.assertEquals(3, calculations());
+    }
+
+    @Test
+    @DisplayName("changing the configuration drops the cached machine UUID")
+    public void configurationChangeDropsCache() throws Exception {
+        final var hb = binder(() -> 0L, () -> 0L).cacheFor(Duration.ofDays(1));
+        final var uuid = hb.getMachineId();
+        hb.getMachineId();
+        Assertions.assertEquals(1, calculations());
+        hb.ignore.architecture();
+        final var withoutArchitecture = hb.getMachineId();
+        Assertions.assertNotEquals(uuid, withoutArchitecture);
+        Assertions.assertEquals(2, calculations());
+        hb.denied(".*");
+        hb.getMachineId();
+        Assertions.assertEquals(3, calculations());
+    }
+
+    @Test
+    @DisplayName("without caching the machine UUID is calculated on each call")
+    public void notCachedByDefault() throws Exception {
+        final var hb = binder(System::nanoTime, Network::fingerprint);
+        hb.getMachineId();
+        hb.getMachineId();
+        Assertions.assertEquals(2, calculations());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hb.cacheFor(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    @DisplayName("an asynchronously calculated machine UUID completing late does not overwrite a newer cached one")
+    public void lateAsyncResultIsNotStored() throws Exception {
+        final var testThread = Thread.currentThread();
+        final var storing = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var clock = new AtomicLong();
+        final var hb = new HardwareBinder(clock::get, () -> {
+            if (Thread.currentThread() != testThread) {
+                storing.countDown();
+                try {
+                    Assertions.assertTrue(release.await(30, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+            }
+            return 0L;
+        }).cacheFor(Duration.ofNanos(100));
+        final var async = CompletableFuture.supplyAsync(() -> hb.getMachineIdAsync(Duration.ofSeconds(30)))
+                .thenCompose(future -> future);
+        Assertions.assertTrue(storing.await(30, TimeUnit.SECONDS));
+        clock.set(1000);
+        final var uuid = hb.getMachineId();
+        Assertions.assertEquals(1000, hb.cachedAt());
+        clock.set(5);
+        release.countDown();
+        Assertions.assertEquals(uuid, async.get(30, TimeUnit.SECONDS));
+        Assertions.assertEquals(1000, hb.cachedAt());
+    }
+
+    @Test
+    @DisplayName("the asynchronously calculated machine UUID is the same and it is cached")
+    public void asyncMachineId() throws Exception {
+        final var hb = binder(() -> 0L, () -> 0L);
+        final var uuid = hb.getMachineId();
+        Assertions.assertEquals(uuid, hb.getMachineIdAsync(Duration.ofSeconds(30)).get());
+        hb.cacheFor(Duration.ofDays(1));
+        Assertions.assertEquals(uuid, hb.getMachineIdAsync(Duration.ofSeconds(30)).get());
+        Assertions.assertEquals(3, calculations());
+        Assertions.assertEquals(uuid, hb.getMachineId());
+        Assertions.assertTrue(hb.getMachineIdAsync(Duration.ofSeconds(30)).isDone());
+        Assertions.assertEquals(3, calculations());
+    }
+
+    @Test
+    @DisplayName("the calls answered from the cache are also counted and timed as machine id operations")
+    public void cacheHitsAreTimed() throws Exception {
+        final var metrics = new HistogramMetrics();
+        Metrics.install(metrics);
+        final var hb = binder(() -> 0L, () -> 0L).cacheFor(Duration.ofDays(1));
+        final var uuid = hb.getMachineId();
+        Assertions.assertEquals(uuid, hb.getMachineId());
+        Assertions.assertEquals(uuid, hb.getMachineIdAsync(Duration.ofSeconds(30)).get());
+        Assertions.assertEquals(1, calculations());
+        Assertions.assertEquals(3, metrics.histogram(Operation.MACHINE_ID).count());
+    }
 }
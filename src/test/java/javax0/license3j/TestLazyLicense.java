@@ -0,0 +1,93 @@
+package javax0.license3j;
+
+import javax0.license3j.crypto.LicenseKeyPair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+public class TestLazyLicense {
+
+    private static License sample() {
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("owner", "Peter Verhas"));
+        license.add(Feature.Create.stringFeature("title", "A license test, \ntest license"));
+        license.add(Feature.Create.dateFeature("expiryDate", new Date(1545047719295L)));
+        license.add(Feature.Create.binaryFeature("payload", new byte[100_000]));
+        license.setLicenseId();
+        return license;
+    }
+
+    @Test
+    @DisplayName("The lazily decoded license has the same features and forms as the eagerly decoded one")
+    void lazyIsTheSameAsEager() {
+        final var serialized = sample().serialized();
+        final var eager = License.Create.from(serialized);
+        final var sut = License.Create.lazyFrom(serialized);
+        Assertions.assertArrayEquals(eager.serialized(), sut.serialized());
+        Assertions.assertArrayEquals(eager.unsigned(), sut.unsigned());
+        Assertions.assertEquals(eager.fingerprint(), sut.fingerprint());
+        Assertions.assertEquals(eager.toString(), sut.toString());
+        Assertions.assertEquals(eager.getFeatures().keySet(), sut.getFeatures().keySet());
+        Assertions.assertEquals(eager.getLicenseId(), sut.getLicenseId());
+        Assertions.assertEquals("Peter Verhas", sut.get("owner").getString());
+        Assertions.assertNull(sut.get("nonexistent"));
+        Assertions.assertEquals(serialized.length, sut.serializedSize());
+        final var buffer = ByteBuffer.allocate(sut.serializedSize());
+        sut.serialize(buffer);
+        Assertions.assertArrayEquals(serialized, buffer.array());
+    }
+
+    @Test
+    @DisplayName("Signature check of the lazily decoded license gives the same result as the eagerly decoded one")
+    void lazyIsOK() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("RSA", 2048);
+        final var license = sample();
+        license.sign(keyPair.getPair().getPrivate(), "SHA-512");
+        final var serialized = license.serialized();
+        Assertions.assertTrue(License.Create.lazyFrom(serialized).isOK(keyPair.getPair().getPublic()));
+        Assertions.assertTrue(License.Create.lazyFrom(serialized).isOK(keyPair.getPublic()));
+        final var ruined = serialized.clone();
+        ruined[ruined.length - 1] = (byte) ~ruined[ruined.length - 1];
+        Assertions.assertFalse(License.Create.lazyFrom(ruined).isOK(keyPair.getPair().getPublic()));
+        Assertions.assertFalse(License.Create.from(ruined).isOK(keyPair.getPair().getPublic()));
+    }
+
+    @Test
+    @DisplayName("Modification of the lazily decoded license works and invalidates the signature")
+    void lazyCanBeModified() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("RSA", 2048);
+        final var license = sample();
+        license.sign(keyPair.getPair().getPrivate(), "SHA-512");
+        final var sut = License.Create.lazyFrom(license.serialized());
+        sut.add(Feature.Create.stringFeature("owner", "Someone Else"));
+        Assertions.assertEquals("Someone Else", sut.get("owner").getString());
+        Assertions.assertEquals("A license test, \ntest license", sut.get("title").getString());
+        Assertions.assertFalse(sut.isOK(keyPair.getPair().getPublic()));
+        license.add(Feature.Create.stringFeature("owner", "Someone Else"));
+        Assertions.assertArrayEquals(license.serialized(), sut.serialized());
+    }
+
+    @Test
+    @DisplayName("A license not in canonical order is decoded eagerly and gives the same result")
+    void nonCanonicalLicense() {
+        final var a = Feature.Create.stringFeature("b", "second").serialized();
+        final var b = Feature.Create.stringFeature("a", "first").serialized();
+        final var buffer = ByteBuffer.allocate(3 * Integer.BYTES + a.length + b.length);
+        buffer.put(License.MAGIC_BYTES).putInt(a.length).put(a).putInt(b.length).put(b);
+        final var sut = License.Create.lazyFrom(buffer.array());
+        Assertions.assertEquals(License.Create.from(buffer.array()).toString(), sut.toString());
+        Assertions.assertArrayEquals(License.Create.from(buffer.array()).serialized(), sut.serialized());
+    }
+
+    @Test
+    @DisplayName("A corrupt license is rejected")
+    void corruptLicense() {
+        final var serialized = sample().serialized();
+        final var truncated = java.util.Arrays.copyOf(serialized, serialized.length - 1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> License.Create.lazyFrom(truncated));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> License.Create.lazyFrom(new byte[]{1, 2, 3, 4}));
+    }
+}
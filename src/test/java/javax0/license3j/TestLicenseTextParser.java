@@ -0,0 +1,94 @@
+package javax0.license3j;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+public class TestLicenseTextParser {
+
+    private static License sample() {
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("owner", "Peter Verhas"));
+        license.add(Feature.Create.stringFeature("title", "A license test, \ntest license"));
+        license.add(Feature.Create.stringFeature("template", "<<special template>>"));
+        license.add(Feature.Create.dateFeature("expiry", new Date(1545047719295L)));
+        license.add(Feature.Create.intFeature("maxUsers", 17));
+        license.add(Feature.Create.binaryFeature("payload", new byte[]{1, 2, 3}));
+        return license;
+    }
+
+    @Test
+    @DisplayName("The text form read back gives the same license, multi-line values keep their new lines")
+    void roundTrip() throws IOException {
+        final var license = sample();
+        final var text = license.toString();
+        Assertions.assertArrayEquals(license.serialized(), License.Create.from(text).serialized());
+        Assertions.assertArrayEquals(license.serialized(),
+                License.Create.from(new StringReader(text)).serialized());
+        Assertions.assertArrayEquals(license.serialized(),
+                License.Create.from(new StringBuilder(text)).serialized());
+        Assertions.assertArrayEquals(license.serialized(),
+                License.Create.fromText(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8))).serialized());
+        Assertions.assertEquals("A license test, \ntest license", License.Create.from(text).get("title").getString());
+    }
+
+    @Test
+    @DisplayName("Lines can be terminated by CR, LF or CRLF, also when the terminator is at the end of the read buffer")
+    void lineTerminators() {
+        final var filler = "x".repeat(8192 - "a=".length());
+        for (final var eol : new String[]{"\n", "\r", "\r\n"}) {
+            final var text = "a=" + filler + eol + "b : STRING =<<END" + eol + "first" + eol + "second" + eol
+                    + "  END  " + eol + "c:INT=3";
+            final var sut = License.Create.from(text);
+            Assertions.assertEquals(filler, sut.get("a").getString());
+            Assertions.assertEquals("first\nsecond", sut.get("b").getString());
+            Assertions.assertEquals(3, sut.get("c").getInt());
+        }
+    }
+
+    @Test
+    @DisplayName("UTF-8 text in a buffer is decoded in chunks, also when characters span the chunk boundaries")
+    void utf8BufferInChunks() {
+        final var value = "\u00e1rv\u00edzt\u0171r\u0151 \ud83d\ude00 ".repeat(3000);
+        final var text = "a=" + value + "\nb:INT=3\n";
+        final var bytes = text.getBytes(StandardCharsets.UTF_8);
+        final var buffer = ByteBuffer.allocateDirect(bytes.length + 1).put((byte) ' ').put(bytes).flip().position(1);
+        final var sut = License.Create.fromText(buffer);
+        Assertions.assertEquals(value, sut.get("a").getString());
+        Assertions.assertEquals(3, sut.get("b").getInt());
+        Assertions.assertEquals(1, buffer.position());
+        Assertions.assertEquals("\ufffd", License.Create.fromText(ByteBuffer.wrap(new byte[]{'a', '=', (byte) 0xff}))
+                .get("a").getString());
+    }
+
+    @Test
+    @DisplayName("Spaces around the name and the type are removed, but not around the value")
+    void spaces() {
+        final var sut = License.Create.from("  name with space  :  INT  =5\n other =  value  \n");
+        Assertions.assertEquals(5, sut.get("name with space").getInt());
+        Assertions.assertEquals("  value  ", sut.get("other").getString());
+        Assertions.assertEquals("33:22", License.Create.from("id=33:22").get("id").getString());
+    }
+
+    @Test
+    @DisplayName("Malformed text is rejected")
+    void malformed() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> License.Create.from("no equal sign"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> License.Create.from("a:UNKNOWN=1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> License.Create.from("a:=1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> License.Create.from("a=<<END\nnot terminated\n"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> License.Create.from("a=1\n\nb=2\n"));
+    }
+
+    @Test
+    @DisplayName("Empty text is an empty license")
+    void empty() {
+        Assertions.assertTrue(License.Create.from("").getFeatures().isEmpty());
+    }
+}
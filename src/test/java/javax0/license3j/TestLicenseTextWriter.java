@@ -0,0 +1,130 @@
+package javax0.license3j;
+
+import javax0.license3j.io.IOFormat;
+import javax0.license3j.io.LicenseWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+public class TestLicenseTextWriter {
+
+    /**
+     * The way the multi-line values were converted before {@link LicenseTextWriter} was introduced.
+     */
+    private static String legacyMultiline(String s) {
+        List<String> lines = new ArrayList<>(Arrays.asList(s.split("\n")));
+        final var sb = new StringBuilder();
+        var i = 0;
+        for (final var line : lines) {
+            sb.append(line.length() <= i || line.charAt(i) == 'A' ? 'B' : 'A');
+            i++;
+        }
+        final var delimiter = sb.toString();
+        String shortDelimiter = null;
+        for (int j = 1; j < delimiter.length(); j++) {
+            if (!lines.contains(delimiter.substring(0, j))) {
+                shortDelimiter = delimiter.substring(0, j);
+                break;
+            }
+        }
+        lines.add(0, "<<" + shortDelimiter);
+        lines.add(shortDelimiter);
+        return String.join("\n", lines);
+    }
+
+    private static String legacyToString(License license) {
+        final var sb = new StringBuilder();
+        for (final var feature : license.getFeatures().values()) {
+            final var valueString = feature.valueString();
+            final String value =
+                    valueString.contains("\n") || valueString.startsWith("<<")
+                            ? legacyMultiline(valueString) : valueString;
+            sb.append(feature.toStringWith(value)).append("\n");
+        }
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("Multi-line values get the same delimiter as before, also when the lines are the delimiter prefixes")
+    void multilineIsCompatible() {
+        final var random = new Random(314);
+        final var alphabet = "AB\nx";
+        final String[] samples = {"", "\n", "\n\n", "<<", "<<\n", "a\n", "\na", "A\nAB\nABA\nx", "B\nB\nB",
+                "B\nBA\nBAB\nBABA\n", "A\n\n\nA", "B\nBB\nBBB\nB\n"};
+        for (final var sample : samples) {
+            assertSame(sample);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            final var sb = new StringBuilder(random.nextBoolean() ? "<<" : "\n");
+            final var length = random.nextInt(30);
+            for (int j = 0; j < length; j++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertSame(sb.toString());
+        }
+    }
+
+    private static void assertSame(String value) {
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("s", value));
+        Assertions.assertEquals(legacyToString(license), license.toString(), value);
+    }
+
+    @Test
+    @DisplayName("The text form of all feature types is the same as before")
+    void allTypesAreCompatible() {
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("owner", "Peter Verhas"));
+        license.add(Feature.Create.stringFeature("title", "A license test, \ntest license"));
+        license.add(Feature.Create.stringFeature("template", "<<special template>>"));
+        license.add(Feature.Create.intFeature("maxUsers", 17));
+        license.add(Feature.Create.longFeature("long", -17L));
+        license.add(Feature.Create.binaryFeature("payload", new byte[]{1, 2, 3, 4}));
+        license.add(Feature.Create.binaryFeature("empty", new byte[0]));
+        Assertions.assertEquals(legacyToString(license), license.toString());
+    }
+
+    @Test
+    @DisplayName("Large binary values are encoded in chunks to the same string as Base64 encoding them at once")
+    void largeBinary() throws IOException {
+        final var random = new Random(42);
+        for (final var size : new int[]{3 * 1024 - 1, 3 * 1024, 3 * 1024 + 1, 100_000}) {
+            final var bytes = new byte[size];
+            random.nextBytes(bytes);
+            final var license = new License();
+            license.add(Feature.Create.binaryFeature("data", bytes));
+            final var expected = "data:BINARY=" + Base64.getEncoder().encodeToString(bytes) + "\n";
+            final var sw = new StringWriter();
+            license.writeTo(sw);
+            Assertions.assertEquals(expected, sw.toString());
+            final var view = License.Create.from(ByteBuffer.wrap(license.serialized()));
+            Assertions.assertEquals(expected, view.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("The license writer streams the text form in UTF-8")
+    void licenseWriter() throws IOException {
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("name", "\u00c1rv\u00edzt\u0171r\u0151\ntuk\u00f6rf\u00far\u00f3g\u00e9p"));
+        license.add(Feature.Create.binaryFeature("data", new byte[5000]));
+        final var baos = new ByteArrayOutputStream();
+        try (final var writer = new LicenseWriter(baos)) {
+            writer.write(license, IOFormat.STRING);
+        }
+        Assertions.assertEquals(license.toString(), baos.toString(StandardCharsets.UTF_8));
+        Assertions.assertArrayEquals(license.serialized(),
+                License.Create.from(baos.toString(StandardCharsets.UTF_8)).serialized());
+    }
+}
@@ -0,0 +1,58 @@
+package javax0.license3j;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+public class TestPrimitiveFeatures {
+
+    private static byte[] value(Feature feature, int length) {
+        final var serialized = feature.serialized();
+        return Arrays.copyOfRange(serialized, serialized.length - length, serialized.length);
+    }
+
+    @Test
+    @DisplayName("Primitive factories create the same features as the boxed ones")
+    void primitiveEqualsBoxed() {
+        for (final var i : new int[]{0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 0x12345678}) {
+            Assertions.assertArrayEquals(Feature.Create.intFeature("n", Integer.valueOf(i)).serialized(),
+                    Feature.Create.intFeature("n", i).serialized());
+            Assertions.assertArrayEquals(Feature.Create.shortFeature("n", Short.valueOf((short) i)).serialized(),
+                    Feature.Create.shortFeature("n", (short) i).serialized());
+            Assertions.assertArrayEquals(Feature.Create.byteFeature("n", Byte.valueOf((byte) i)).serialized(),
+                    Feature.Create.byteFeature("n", (byte) i).serialized());
+        }
+        for (final var l : new long[]{0L, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 0x123456789ABCDEFL}) {
+            Assertions.assertArrayEquals(Feature.Create.longFeature("n", Long.valueOf(l)).serialized(),
+                    Feature.Create.longFeature("n", l).serialized());
+        }
+        for (final var d : new double[]{0.0, -0.0, 3.14, Double.NaN, Double.NEGATIVE_INFINITY, Double.MIN_VALUE}) {
+            Assertions.assertArrayEquals(Feature.Create.doubleFeature("n", Double.valueOf(d)).serialized(),
+                    Feature.Create.doubleFeature("n", d).serialized());
+            Assertions.assertArrayEquals(Feature.Create.floatFeature("n", Float.valueOf((float) d)).serialized(),
+                    Feature.Create.floatFeature("n", (float) d).serialized());
+        }
+    }
+
+    @Test
+    @DisplayName("Fixed size values are encoded big-endian, the same way as ByteBuffer does it")
+    void encodingIsBigEndian() {
+        Assertions.assertArrayEquals(ByteBuffer.allocate(Integer.BYTES).putInt(0x01020304).array(),
+                value(Feature.Create.intFeature("n", 0x01020304), Integer.BYTES));
+        Assertions.assertArrayEquals(ByteBuffer.allocate(Long.BYTES).putLong(-2L).array(),
+                value(Feature.Create.longFeature("n", -2L), Long.BYTES));
+        Assertions.assertArrayEquals(ByteBuffer.allocate(Float.BYTES).putFloat(1.5f).array(),
+                value(Feature.Create.floatFeature("n", 1.5f), Float.BYTES));
+        final var uuid = new UUID(0x0102030405060708L, 0x090A0B0C0D0E0F10L);
+        Assertions.assertArrayEquals(ByteBuffer.allocate(2 * Long.BYTES)
+                        .putLong(uuid.getLeastSignificantBits()).putLong(uuid.getMostSignificantBits()).array(),
+                value(Feature.Create.uuidFeature("n", uuid), 2 * Long.BYTES));
+        Assertions.assertEquals(uuid, Feature.Create.uuidFeature("n", uuid).getUUID());
+        Assertions.assertEquals(new Date(-1L), Feature.Create.dateFeature("n", new Date(-1L)).getDate());
+    }
+}
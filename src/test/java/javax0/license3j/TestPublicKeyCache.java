@@ -0,0 +1,65 @@
+package javax0.license3j;
+
+import javax0.license3j.crypto.LicenseKeyPair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TestPublicKeyCache {
+
+    @Test
+    @DisplayName("Equal key bytes in different arrays are decoded only once")
+    void sameKeyIsDecodedOnce() throws Exception {
+        final var sut = new PublicKeyCache(10);
+        final var keyPair = LicenseKeyPair.Create.from("RSA", 1024);
+        final var first = sut.get(keyPair.getPublic());
+        final var second = sut.get(keyPair.getPublic());
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(keyPair.getPair().getPublic(), first.getPair().getPublic());
+        Assertions.assertEquals(keyPair.cipher(), first.cipher());
+        Assertions.assertEquals(1, sut.size());
+    }
+
+    @Test
+    @DisplayName("Modifying the array after the key was cached does not change the cached key")
+    void cachedKeyIsCopied() throws Exception {
+        final var sut = new PublicKeyCache(10);
+        final var keyPair = LicenseKeyPair.Create.from("RSA", 1024);
+        final var bytes = keyPair.getPublic();
+        final var cached = sut.get(bytes);
+        bytes[bytes.length - 1]++;
+        Assertions.assertSame(cached, sut.get(keyPair.getPublic()));
+    }
+
+    @Test
+    @DisplayName("Keys that cannot be decoded are not cached")
+    void invalidKeyIsNotCached() {
+        final var sut = new PublicKeyCache(10);
+        Assertions.assertThrows(Exception.class, () -> sut.get(new byte[]{'R', 'S', 'A', 0, 1, 2}));
+        Assertions.assertEquals(0, sut.size());
+    }
+
+    @Test
+    @DisplayName("The cache does not grow over its limit")
+    void cacheIsBounded() throws Exception {
+        final var sut = new PublicKeyCache(5);
+        for (int i = 0; i < 12; i++) {
+            sut.get(LicenseKeyPair.Create.from("EC", 256).getPublic());
+            Assertions.assertTrue(sut.size() <= 5);
+        }
+    }
+
+    @Test
+    @DisplayName("The license is checked with the encoded key many times and a wrong key still fails")
+    void licenseIsCheckedWithEncodedKey() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("RSA", 1024);
+        final var other = LicenseKeyPair.Create.from("RSA", 1024);
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("owner", "Peter Verhas"));
+        license.sign(keyPair.getPair().getPrivate(), "SHA-512");
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertTrue(license.isOK(keyPair.getPublic()));
+            Assertions.assertFalse(license.isOK(other.getPublic()));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package javax0.license3j;
+
+import javax0.license3j.crypto.LicenseKeyPair;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class TestVerificationCache {
+
+    private static License signedLicense(LicenseKeyPair keyPair, String owner) throws Exception {
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("owner", owner));
+        license.sign(keyPair.getPair().getPrivate(), "SHA-512");
+        return license;
+    }
+
+    @AfterEach
+    void uninstall() {
+        License.setVerificationCache(null);
+    }
+
+    @Test
+    @DisplayName("The second check of the same license with the same key is answered from the cache")
+    void repeatedCheckIsAHit() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("RSA", 2048);
+        final var license = signedLicense(keyPair, "Peter Verhas");
+        final var sut = new VerificationCache(10, Duration.ofMinutes(1));
+        License.setVerificationCache(sut);
+        Assertions.assertTrue(license.isOK(keyPair.getPair().getPublic()));
+        Assertions.assertTrue(license.isOK(keyPair.getPair().getPublic()));
+        Assertions.assertTrue(license.isOK(keyPair.getPublic()));
+        Assertions.assertEquals(1, sut.misses());
+        Assertions.assertEquals(2, sut.hits());
+    }
+
+    @Test
+    @DisplayName("A license modified after a successful check is verified again and fails")
+    void modifiedLicenseIsNotAcceptedFromCache() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("RSA", 2048);
+        final var license = signedLicense(keyPair, "Peter Verhas");
+        License.setVerificationCache(new VerificationCache(10, Duration.ofMinutes(1)));
+        Assertions.assertTrue(license.isOK(keyPair.getPair().getPublic()));
+        license.getSignature()[0] = (byte) ~license.getSignature()[0];
+        Assertions.assertFalse(license.isOK(keyPair.getPair().getPublic()));
+        license.add(Feature.Create.stringFeature("owner", "Someone Else"));
+        Assertions.assertFalse(license.isOK(keyPair.getPair().getPublic()));
+    }
+
+    @Test
+    @DisplayName("The verdict depends on the key, a different key is not served from the cache")
+    void differentKeyIsAMiss() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("RSA", 2048);
+        final var otherPair = LicenseKeyPair.Create.from("RSA", 2048);
+        final var license = signedLicense(keyPair, "Peter Verhas");
+        final var sut = new VerificationCache(10, Duration.ofMinutes(1));
+        License.setVerificationCache(sut);
+        Assertions.assertTrue(license.isOK(keyPair.getPair().getPublic()));
+        Assertions.assertFalse(license.isOK(otherPair.getPair().getPublic()));
+        Assertions.assertEquals(2, sut.misses());
+    }
+
+    @Test
+    @DisplayName("Verdicts expire after the time to live")
+    void entriesExpire() {
+        final var now = new AtomicLong();
+        final var calculated = new AtomicInteger();
+        final var sut = new VerificationCache(10, Duration.ofSeconds(1), now::get);
+        final var license = new License();
+        final var key = publicKey();
+        final Supplier<BulkVerifier.Reason> verifier = () -> {
+            calculated.incrementAndGet();
+            return BulkVerifier.Reason.OK;
+        };
+        sut.verdict(license, key, "RSA", verifier);
+        now.addAndGet(Duration.ofMillis(999).toNanos());
+        sut.verdict(license, key, "RSA", verifier);
+        Assertions.assertEquals(1, calculated.get());
+        now.addAndGet(Duration.ofMillis(1).toNanos());
+        sut.verdict(license, key, "RSA", verifier);
+        Assertions.assertEquals(2, calculated.get());
+    }
+
+    @Test
+    @DisplayName("The cache does not grow over the maximum size")
+    void sizeIsBounded() {
+        final var sut = new VerificationCache(3, Duration.ofMinutes(1));
+        final var key = publicKey();
+        for (int i = 0; i < 10; i++) {
+            final var license = new License();
+            license.add(Feature.Create.intFeature("serial", i));
+            sut.verdict(license, key, "RSA", () -> BulkVerifier.Reason.OK);
+        }
+        Assertions.assertEquals(3, sut.size());
+        Assertions.assertEquals(7, sut.evictions());
+    }
+
+    private static java.security.PublicKey publicKey() {
+        try {
+            return LicenseKeyPair.Create.from("RSA", 1024).getPair().getPublic();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package javax0.license3j.crypto;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+public class TestCryptoEngine {
+
+    @Test
+    @DisplayName("Pooled digest calculates the same value as a fresh MessageDigest")
+    void digestIsTheSameAsJca() throws Exception {
+        final var data = "License3j".getBytes(StandardCharsets.UTF_8);
+        final var expected = MessageDigest.getInstance("SHA-512").digest(data);
+        Assertions.assertArrayEquals(expected, CryptoEngine.digest("SHA-512", data));
+        Assertions.assertArrayEquals(expected, CryptoEngine.digest("SHA-512", data));
+        Assertions.assertArrayEquals(expected, CryptoEngine.digest("SHA-512",
+                "License".getBytes(StandardCharsets.UTF_8), "3j".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Data encrypted by the pooled cipher is decrypted by a fresh cipher and the other way around")
+    void cipherRoundTrip() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("RSA", 2048).getPair();
+        final var data = CryptoEngine.digest("SHA-512", "License3j".getBytes(StandardCharsets.UTF_8));
+        final var encrypted = CryptoEngine.encrypt("RSA", keyPair.getPrivate(), data);
+        final var cipher = Cipher.getInstance("RSA");
+        cipher.init(Cipher.DECRYPT_MODE, keyPair.getPublic());
+        Assertions.assertArrayEquals(data, cipher.doFinal(encrypted));
+        Assertions.assertArrayEquals(data, CryptoEngine.decrypt("RSA", keyPair.getPublic(), encrypted));
+        Assertions.assertArrayEquals(data, CryptoEngine.decrypt("RSA", keyPair.getPublic(), encrypted));
+    }
+
+    @Test
+    @DisplayName("A cipher that failed is not reused and the next operation succeeds")
+    void failedCipherIsDropped() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("RSA", 2048).getPair();
+        final var data = CryptoEngine.digest("SHA-512", "License3j".getBytes(StandardCharsets.UTF_8));
+        final var encrypted = CryptoEngine.encrypt("RSA", keyPair.getPrivate(), data);
+        final var garbage = encrypted.clone();
+        garbage[0] = (byte) ~garbage[0];
+        Assertions.assertThrows(Exception.class, () -> CryptoEngine.decrypt("RSA", keyPair.getPublic(), garbage));
+        Assertions.assertArrayEquals(data, CryptoEngine.decrypt("RSA", keyPair.getPublic(), encrypted));
+    }
+
+    @Test
+    @DisplayName("Concurrent use of the pools gives correct results")
+    void concurrentUse() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("RSA", 2048).getPair();
+        final var executor = Executors.newFixedThreadPool(8);
+        try {
+            final var tasks = new ArrayList<Callable<Boolean>>();
+            for (int i = 0; i < 200; i++) {
+                final var data = ("License3j " + i).getBytes(StandardCharsets.UTF_8);
+                tasks.add(() -> {
+                    final var digest = CryptoEngine.digest("SHA-256", data);
+                    final var encrypted = CryptoEngine.encrypt("RSA", keyPair.getPrivate(), digest);
+                    return java.util.Arrays.equals(digest, CryptoEngine.decrypt("RSA", keyPair.getPublic(), encrypted))
+                            && java.util.Arrays.equals(digest, MessageDigest.getInstance("SHA-256").digest(data));
+                });
+            }
+            for (final var result : executor.invokeAll(tasks)) {
+                Assertions.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A digest name that is not an algorithm does not create a pool")
+    void unknownDigestIsNotPooled() throws Exception {
+        CryptoEngine.digest("SHA-256", new byte[0]);
+        final var pools = CryptoEngine.digestPools();
+        for (int i = 0; i < 100; i++) {
+            final var name = "NoSuchDigest-" + i;
+            Assertions.assertThrows(NoSuchAlgorithmException.class, () -> CryptoEngine.digest(name, new byte[0]));
+        }
+        Assertions.assertEquals(pools, CryptoEngine.digestPools());
+    }
+
+    @Test
+    @DisplayName("Ciphers with private keys are not pooled, the pools of the least recently used public keys are dropped")
+    void cipherPoolsAreBounded() throws Exception {
+        CryptoEngine.clear();
+        final var data = "License3j".getBytes(StandardCharsets.UTF_8);
+        final var hot = LicenseKeyPair.Create.from("RSA", 512).getPair();
+        final var hotEncrypted = CryptoEngine.encrypt("RSA", hot.getPrivate(), data);
+        Assertions.assertEquals(0, CryptoEngine.cipherPools());
+        for (int i = 0; i < 100; i++) {
+            final var keyPair = LicenseKeyPair.Create.from("RSA", 512).getPair();
+            final var encrypted = CryptoEngine.encrypt("RSA", keyPair.getPrivate(), data);
+            Assertions.assertArrayEquals(data, CryptoEngine.decrypt("RSA", keyPair.getPublic(), encrypted));
+            Assertions.assertArrayEquals(data, CryptoEngine.decrypt("RSA", hot.getPublic(), hotEncrypted));
+            Assertions.assertTrue(CryptoEngine.cipherPools() <= 64);
+            Assertions.assertFalse(CryptoEngine.hasCipherPool("RSA", Cipher.ENCRYPT_MODE, keyPair.getPrivate()));
+        }
+        Assertions.assertTrue(CryptoEngine.hasCipherPool("RSA", Cipher.DECRYPT_MODE, hot.getPublic()));
+    }
+}
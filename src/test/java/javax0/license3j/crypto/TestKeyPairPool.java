@@ -0,0 +1,136 @@
+package javax0.license3j.crypto;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.interfaces.RSAPublicKey;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestKeyPairPool {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private static class CountingRandom extends SecureRandom {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public void nextBytes(byte[] bytes) {
+            calls.incrementAndGet();
+            super.nextBytes(bytes);
+        }
+    }
+
+    @Test
+    @DisplayName("Preparing an algorithm fills the pool and taking a key pair refills it")
+    void prepareAndRefill() throws Exception {
+        try (final var sut = new KeyPairPool(3, new SecureRandom(), DIRECT)) {
+            Assertions.assertEquals(0, sut.available("EC", 256));
+            sut.prepare("EC", 256);
+            Assertions.assertEquals(3, sut.available("EC", 256));
+            final var keys = new HashSet<>();
+            for (int i = 0; i < 10; i++) {
+                final var keyPair = sut.take("EC", 256);
+                Assertions.assertEquals("EC", keyPair.cipher());
+                Assertions.assertTrue(keys.add(keyPair.getPair().getPublic()), "key pair was handed out twice");
+                Assertions.assertEquals(3, sut.available("EC", 256));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("The key pairs have the requested cipher and size and use the given source of randomness")
+    void cipherSizeAndRandom() throws Exception {
+        final var random = new CountingRandom();
+        try (final var sut = new KeyPairPool(1, random, DIRECT)) {
+            final var keyPair = sut.take("RSA/ECB/PKCS1Padding", 1024);
+            Assertions.assertEquals("RSA/ECB/PKCS1Padding", keyPair.cipher());
+            Assertions.assertEquals(1024, ((RSAPublicKey) keyPair.getPair().getPublic()).getModulus().bitLength());
+            Assertions.assertTrue(random.calls.get() > 0);
+            Assertions.assertEquals(1, sut.available("RSA/ECB/PKCS1Padding", 1024));
+            Assertions.assertEquals(0, sut.available("RSA", 1024));
+        }
+    }
+
+    @Test
+    @DisplayName("A key pair generated while the pool is closed is dropped")
+    void closeDuringRefill() throws Exception {
+        final var testThread = Thread.currentThread();
+        final var generating = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var random = new SecureRandom() {
+            @Override
+            public void nextBytes(byte[] bytes) {
+                if (Thread.currentThread() != testThread && generating.getCount() > 0) {
+                    generating.countDown();
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.nextBytes(bytes);
+            }
+        };
+        final var executor = Executors.newSingleThreadExecutor();
+        final var sut = new KeyPairPool(2, random, executor);
+        try {
+            sut.prepare("EC", 256);
+            Assertions.assertTrue(generating.await(30, TimeUnit.SECONDS));
+            sut.close();
+            release.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, sut.available("EC", 256));
+    }
+
+    @Test
+    @DisplayName("An unknown algorithm is reported to the caller")
+    void unknownAlgorithm() {
+        try (final var sut = new KeyPairPool(2, new SecureRandom(), DIRECT)) {
+            Assertions.assertThrows(NoSuchAlgorithmException.class, () -> sut.prepare("NoSuchAlgorithm", 1024));
+            Assertions.assertThrows(NoSuchAlgorithmException.class, () -> sut.take("NoSuchAlgorithm", 1024));
+            Assertions.assertEquals(0, sut.available("NoSuchAlgorithm", 1024));
+        }
+    }
+
+    @Test
+    @DisplayName("The pool is refilled in the background by its own thread")
+    void backgroundRefill() throws Exception {
+        try (final var sut = new KeyPairPool(2)) {
+            sut.prepare("EC", 256);
+            final var deadline = System.currentTimeMillis() + 10_000;
+            while (sut.available("EC", 256) < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assertions.assertEquals(2, sut.available("EC", 256));
+            Assertions.assertNotNull(sut.take("EC", 256).getPair().getPrivate());
+        }
+    }
+
+    @Test
+    @DisplayName("A closed pool drops its key pairs and generates new ones on the calling thread")
+    void closedPool() throws Exception {
+        final var sut = new KeyPairPool(2, new SecureRandom(), DIRECT);
+        sut.prepare("EC", 256);
+        sut.close();
+        Assertions.assertEquals(0, sut.available("EC", 256));
+        Assertions.assertNotNull(sut.take("EC", 256));
+        Assertions.assertEquals(0, sut.available("EC", 256));
+    }
+
+    @Test
+    @DisplayName("The capacity has to be positive")
+    void invalidCapacity() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new KeyPairPool(0, new SecureRandom(), DIRECT));
+    }
+}
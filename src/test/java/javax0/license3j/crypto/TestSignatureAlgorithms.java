@@ -0,0 +1,229 @@
+package javax0.license3j.crypto;
+
+import javax0.license3j.BulkVerifier;
+import javax0.license3j.Feature;
+import javax0.license3j.License;
+import javax0.license3j.io.IOFormat;
+import javax0.license3j.io.KeyPairReader;
+import javax0.license3j.io.KeyPairWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.util.List;
+
+public class TestSignatureAlgorithms {
+
+    private static License license() {
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("owner", "Peter Verhas"));
+        license.add(Feature.Create.intFeature("maxUsers", 17));
+        return license;
+    }
+
+    private static void assertSignsAndVerifies(LicenseKeyPair keyPair, String expectedAlgorithm) throws Exception {
+        final var license = license();
+        final var fingerprint = license.fingerprint();
+        license.sign(keyPair.getPair().getPrivate(), "SHA-256");
+        Assertions.assertEquals(expectedAlgorithm, license.get("signatureAlgorithm").getString());
+        Assertions.assertEquals(fingerprint, license.fingerprint());
+        Assertions.assertTrue(license.isOK(keyPair.getPair().getPublic()));
+        Assertions.assertTrue(license.isOK(keyPair.getPublic()));
+        Assertions.assertTrue(License.Create.from(license.serialized()).isOK(keyPair.getPublic()));
+        Assertions.assertTrue(License.Create.from(license.toString()).isOK(keyPair.getPublic()));
+
+        final var tampered = License.Create.from(license.serialized());
+        tampered.add(Feature.Create.intFeature("maxUsers", 18));
+        Assertions.assertFalse(tampered.isOK(keyPair.getPublic()));
+
+        final var otherAlgorithm = License.Create.from(license.serialized());
+        otherAlgorithm.add(Feature.Create.stringFeature("signatureAlgorithm", "SHA512withECDSA"));
+        Assertions.assertFalse(otherAlgorithm.isOK(keyPair.getPublic()));
+    }
+
+    @Test
+    @DisplayName("EC P-256 keys sign the license using SHA256withECDSA")
+    void ec() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("EC", 256);
+        assertSignsAndVerifies(keyPair, "SHA256withECDSA");
+        final var license = license();
+        license.sign(keyPair.getPair().getPrivate(), "SHA-256");
+        Assertions.assertTrue(license.getSignature().length <= 72);
+    }
+
+    @Test
+    @DisplayName("Ed25519 keys sign the license using EdDSA")
+    void ed25519() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("Ed25519", 255);
+        assertSignsAndVerifies(keyPair, "EdDSA");
+        final var license = license();
+        license.sign(keyPair.getPair().getPrivate(), "SHA-256");
+        Assertions.assertEquals(64, license.getSignature().length);
+        Assertions.assertNull(license.get("signatureDigest"), "EdDSA does not use the digest");
+    }
+
+    @Test
+    @DisplayName("SHA-3 digests keep the hyphen in the name of the signature algorithm")
+    void sha3WithEc() throws Exception {
+        final var keyPair = LicenseKeyPair.Create.from("EC", 256);
+        final var license = license();
+        license.sign(keyPair.getPair().getPrivate(), "SHA3-256");
+        Assertions.assertEquals("SHA3-256withECDSA", license.get("signatureAlgorithm").getString());
+        Assertions.assertTrue(license.isOK(keyPair.getPair().getPublic()));
+        Assertions.assertEquals("SHA512withECDSA", CryptoEngine.signatureAlgorithm("EC", "SHA-512"));
+        Assertions.assertEquals("SHA3-512withDSA", CryptoEngine.signatureAlgorithm("DSA", "SHA3-512"));
+        Assertions.assertEquals("Ed448", CryptoEngine.signatureAlgorithm("Ed448", "SHA-512"));
+        Assertions.assertNull(CryptoEngine.signatureAlgorithm("RSA", "SHA-512/256"));
+    }
+
+    @Test
+    @DisplayName("Unsupported digests and key algorithms are rejected before the license is modified")
+    void unsupportedAlgorithms() throws Exception {
+        Assertions.assertThrows(NoSuchAlgorithmException.class, () -> CryptoEngine.signatureAlgorithm("EC", "SHA-512/256"));
+        Assertions.assertThrows(NoSuchAlgorithmException.class, () -> CryptoEngine.signatureAlgorithm("EC", "MD5"));
+        Assertions.assertThrows(NoSuchAlgorithmException.class, () -> CryptoEngine.signatureAlgorithm("DH", "SHA-256"));
+        final var rsa = LicenseKeyPair.Create.from("RSA", 2048);
+        final var ec = LicenseKeyPair.Create.from("EC", 256);
+        final var license = license();
+        license.sign(rsa.getPair().getPrivate(), "SHA-512");
+        final var signed = license.serialized();
+        Assertions.assertThrows(NoSuchAlgorithmException.class,
+                () -> license.sign(ec.getPair().getPrivate(), "SHA-512/256"));
+        Assertions.assertArrayEquals(signed, license.serialized());
+        Assertions.assertTrue(license.isOK(rsa.getPair().getPublic()));
+    }
+
+    @Test
+    @DisplayName("When signing fails the features of the license are restored")
+    void failedSigningRestoresFeatures() throws Exception {
+        final var rsa = LicenseKeyPair.Create.from("RSA", 2048);
+        final var license = license();
+        license.sign(rsa.getPair().getPrivate(), "SHA-512");
+        final var signed = license.serialized();
+        final var notAnEcKey = new PrivateKey() {
+            @Override
+            public String getAlgorithm() {
+                return "EC";
+            }
+
+            @Override
+            public String getFormat() {
+                return "PKCS#8";
+            }
+
+            @Override
+            public byte[] getEncoded() {
+                return new byte[0];
+            }
+        };
+        Assertions.assertThrows(Exception.class, () -> license.sign(notAnEcKey, "SHA-256"));
+        Assertions.assertNull(license.get("signatureAlgorithm"));
+        Assertions.assertEquals("SHA-512", license.get("signatureDigest").getString());
+        Assertions.assertArrayEquals(signed, license.serialized());
+        Assertions.assertTrue(license.isOK(rsa.getPair().getPublic()));
+    }
+
+    @Test
+    @DisplayName("RSA keys create the same signature format as before, also when the license was signed with EC before")
+    void rsaFormatIsUnchanged() throws Exception {
+        final var rsa = LicenseKeyPair.Create.from("RSA", 2048);
+        final var ec = LicenseKeyPair.Create.from("EC", 256);
+        final var license = license();
+        license.sign(ec.getPair().getPrivate(), "SHA-256");
+        license.sign(rsa.getPair().getPrivate(), "SHA-512");
+        Assertions.assertNull(license.get("signatureAlgorithm"));
+        Assertions.assertTrue(license.isOK(rsa.getPair().getPublic()));
+        Assertions.assertFalse(license.isOK(ec.getPair().getPublic()));
+        final var digest = CryptoEngine.digest("SHA-512", license.unsigned());
+        Assertions.assertArrayEquals(digest,
+                CryptoEngine.decrypt("RSA", rsa.getPair().getPublic(), license.getSignature()));
+    }
+
+    @Test
+    @DisplayName("The bulk verifier tries RSA, EC and Ed25519 keys for the licenses signed in different ways")
+    void bulkVerifier() throws Exception {
+        final var rsa = LicenseKeyPair.Create.from("RSA", 2048);
+        final var ec = LicenseKeyPair.Create.from("EC", 256);
+        final var ed = LicenseKeyPair.Create.from("Ed25519", 255);
+        final var licenses = List.of(license(), license(), license(), license());
+        licenses.get(0).sign(rsa.getPair().getPrivate(), "SHA-512");
+        licenses.get(1).sign(ec.getPair().getPrivate(), "SHA-256");
+        licenses.get(2).sign(ed.getPair().getPrivate(), "SHA-256");
+        final var result = new BulkVerifier(rsa.getPair().getPublic(), ec.getPair().getPublic(),
+                ed.getPair().getPublic()).verify(licenses);
+        Assertions.assertTrue(result.isOK(0));
+        Assertions.assertTrue(result.isOK(1));
+        Assertions.assertTrue(result.isOK(2));
+        Assertions.assertEquals(BulkVerifier.Reason.MISSING_SIGNATURE, result.get(3));
+    }
+
+    @Test
+    @DisplayName("An EC license verified with a different EC key is reported as signed with an unknown key")
+    void ecWithDifferentKey() throws Exception {
+        final var signer = LicenseKeyPair.Create.from("EC", 256);
+        final var other = LicenseKeyPair.Create.from("EC", 256);
+        final var license = license();
+        license.sign(signer.getPair().getPrivate(), "SHA-256");
+        final var tampered = License.Create.from(license.serialized());
+        tampered.add(Feature.Create.intFeature("maxUsers", 18));
+        Assertions.assertFalse(license.isOK(other.getPair().getPublic()));
+        final var result = new BulkVerifier(other.getPair().getPublic()).verify(List.of(license, tampered));
+        Assertions.assertEquals(BulkVerifier.Reason.UNKNOWN_KEY, result.get(0));
+        Assertions.assertEquals(BulkVerifier.Reason.UNKNOWN_KEY, result.get(1));
+        Assertions.assertTrue(new BulkVerifier(signer.getPair().getPublic()).verify(List.of(license)).allOK());
+    }
+
+    @Test
+    @DisplayName("A license naming an algorithm that is not available is reported as unsupported")
+    void unsupportedAlgorithmVerdict() throws Exception {
+        final var rsa = LicenseKeyPair.Create.from("RSA", 1024);
+        final var ec = LicenseKeyPair.Create.from("EC", 256);
+        final var rsaLicense = license();
+        rsaLicense.sign(rsa.getPair().getPrivate(), "SHA-256");
+        rsaLicense.add(Feature.Create.stringFeature("signatureDigest", "NO-SUCH-DIGEST"));
+        final var ecLicense = license();
+        ecLicense.sign(ec.getPair().getPrivate(), "SHA-256");
+        ecLicense.add(Feature.Create.stringFeature("signatureAlgorithm", "NoSuchAlgorithmWithECDSA"));
+        final var binaryAlgorithm = license();
+        binaryAlgorithm.sign(ec.getPair().getPrivate(), "SHA-256");
+        binaryAlgorithm.add(Feature.Create.binaryFeature("signatureAlgorithm", new byte[]{1}));
+        final var result = new BulkVerifier(rsa.getPair().getPublic(), ec.getPair().getPublic())
+                .verify(List.of(rsaLicense, ecLicense, binaryAlgorithm));
+        Assertions.assertEquals(BulkVerifier.Reason.UNSUPPORTED_ALGORITHM, result.get(0));
+        Assertions.assertEquals(BulkVerifier.Reason.UNSUPPORTED_ALGORITHM, result.get(1));
+        Assertions.assertEquals(BulkVerifier.Reason.UNSUPPORTED_ALGORITHM, result.get(2));
+        Assertions.assertFalse(rsaLicense.isOK(rsa.getPair().getPublic()));
+    }
+
+    @Test
+    @DisplayName("EC and Ed25519 keys can be written and read back")
+    void keyReadWrite() throws Exception {
+        for (final var keyPair : List.of(LicenseKeyPair.Create.from("EC", 256),
+                LicenseKeyPair.Create.from("Ed25519", 255))) {
+            for (final var format : List.of(IOFormat.BINARY, IOFormat.BASE64)) {
+                final var privateOut = new ByteArrayOutputStream();
+                final var publicOut = new ByteArrayOutputStream();
+                try (final var writer = new KeyPairWriter(privateOut, publicOut)) {
+                    writer.write(keyPair, format);
+                }
+                final LicenseKeyPair privateKey;
+                try (final var reader = new KeyPairReader(new ByteArrayInputStream(privateOut.toByteArray()))) {
+                    privateKey = reader.readPrivate(format);
+                }
+                final LicenseKeyPair publicKey;
+                try (final var reader = new KeyPairReader(new ByteArrayInputStream(publicOut.toByteArray()))) {
+                    publicKey = reader.readPublic(format);
+                }
+                Assertions.assertEquals(keyPair.cipher(), publicKey.cipher());
+                final var license = license();
+                license.sign(privateKey.getPair().getPrivate(), "SHA-256");
+                Assertions.assertTrue(license.isOK(publicKey.getPair().getPublic()));
+                Assertions.assertTrue(license.isOK(keyPair.getPublic()));
+            }
+        }
+    }
+}
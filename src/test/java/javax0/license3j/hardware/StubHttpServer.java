@@ -0,0 +1,116 @@
+package javax0.license3j.hardware;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A minimal HTTP server on the loopback interface to stub the cloud metadata endpoints in the tests. Every request is
+ * served on its own thread and the connection is closed after the response.
+ */
+class StubHttpServer implements AutoCloseable {
+    private static class Response {
+        private final int status;
+        private final String body;
+        private final long delayMillis;
+
+        private Response(int status, String body, long delayMillis) {
+            this.status = status;
+            this.body = body;
+            this.delayMillis = delayMillis;
+        }
+    }
+
+    private final ServerSocket socket;
+    private final Map<String, Response> responses = new ConcurrentHashMap<>();
+    private final Map<String, String> lastHeaders = new ConcurrentHashMap<>();
+
+    StubHttpServer() throws IOException {
+        socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        final var acceptor = new Thread(this::accept, "stub-http-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Define the response for a path.
+     *
+     * @param path        the path of the request, without the query string
+     * @param status      the HTTP status to respond with
+     * @param body        the body of the response
+     * @param delayMillis the time to wait before responding
+     * @return this
+     */
+    StubHttpServer respond(String path, int status, String body, long delayMillis) {
+        responses.put(path, new Response(status, body, delayMillis));
+        return this;
+    }
+
+    String url(String path) {
+        return "http://" + socket.getInetAddress().getHostAddress() + ":" + socket.getLocalPort() + path;
+    }
+
+    /**
+     * @param name the name of the header in lower case
+     * @return the value of the header in the last request
+     */
+    String lastHeader(String name) {
+        return lastHeaders.get(name);
+    }
+
+    private void accept() {
+        while (!socket.isClosed()) {
+            try {
+                final var connection = socket.accept();
+                final var thread = new Thread(() -> serve(connection), "stub-http-connection");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket connection) {
+        try (connection) {
+            final var in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.ISO_8859_1));
+            final var requestLine = in.readLine();
+            if (requestLine == null) {
+                return;
+            }
+            String line;
+            while ((line = in.readLine()) != null && !line.isEmpty()) {
+                final var colon = line.indexOf(':');
+                if (colon > 0) {
+                    lastHeaders.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+                }
+            }
+            var path = requestLine.split(" ")[1];
+            if (path.contains("?")) {
+                path = path.substring(0, path.indexOf('?'));
+            }
+            final var response = responses.getOrDefault(path, new Response(404, "", 0));
+            if (response.delayMillis > 0) {
+                Thread.sleep(response.delayMillis);
+            }
+            final var body = response.body.getBytes(StandardCharsets.UTF_8);
+            final var out = connection.getOutputStream();
+            out.write(("HTTP/1.1 " + response.status + " Stub\r\nContent-Length: " + body.length
+                    + "\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+            out.write(body);
+            out.flush();
+        } catch (IOException | InterruptedException ignored) {
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
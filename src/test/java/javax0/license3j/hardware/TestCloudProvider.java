@@ -0,0 +1,169 @@
+package javax0.license3j.hardware;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+public class TestCloudProvider {
+
+    private StubHttpServer server;
+
+    @TempDir
+    Path dmi;
+
+    private void dmi(String name, String value) throws IOException {
+        Files.write(dmi.resolve(name), (value + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @BeforeEach
+    void startServer() throws Exception {
+        CloudProvider.setDmiDirectory(dmi);
+        server = new StubHttpServer()
+                .respond("/id", 200, "i-0123456789", 0)
+                .respond("/other", 200, "other-id", 0)
+                .respond("/slow", 200, "slow-id", 3000)
+                .respond("/empty", 200, "", 0);
+        for (final var provider : CloudProvider.values()) {
+            provider.overrideUrl(server.url("/missing"));
+        }
+    }
+
+    @AfterEach
+    void stopServer() throws Exception {
+        server.close();
+        for (final var provider : CloudProvider.values()) {
+            provider.overrideUrl(null);
+        }
+        CloudProvider.setInstanceIdUrl(null);
+        CloudProvider.setHeaders((String[]) null);
+        CloudProvider.setTimeouts(Duration.ofSeconds(2), Duration.ofSeconds(5));
+        CloudProvider.setDmiDirectory(null);
+    }
+
+    @Test
+    @DisplayName("The instance id is queried from the endpoint of the provider with the headers of the provider")
+    void instanceId() {
+        CloudProvider.AWS.overrideUrl(server.url("/id"));
+        Assertions.assertEquals("i-0123456789", CloudProvider.AWS.getInstanceId());
+        Assertions.assertEquals("true", server.lastHeader("metadata"));
+        CloudProvider.Google.overrideUrl(server.url("/other"));
+        Assertions.assertEquals("other-id", CloudProvider.Google.getInstanceId());
+        Assertions.assertEquals("Google", server.lastHeader("metadata-flavor"));
+    }
+
+    @Test
+    @DisplayName("The proprietary provider uses the url and the headers set")
+    void proprietary() {
+        CloudProvider.setInstanceIdUrl(server.url("/id"));
+        CloudProvider.setHeaders("X-Token", "secret");
+        Assertions.assertEquals("i-0123456789", CloudProvider.Proprietary.getInstanceId());
+        Assertions.assertEquals("secret", server.lastHeader("x-token"));
+    }
+
+    @Test
+    @DisplayName("An endpoint that does not answer in time fails with timeout")
+    void requestTimeout() {
+        CloudProvider.setTimeouts(Duration.ofSeconds(1), Duration.ofMillis(200));
+        CloudProvider.AWS.overrideUrl(server.url("/slow"));
+        final var e = Assertions.assertThrows(RuntimeException.class, CloudProvider.AWS::getInstanceId);
+        Assertions.assertTrue(e.getCause() instanceof HttpTimeoutException, "" + e.getCause());
+        Assertions.assertNull(CloudProvider.AWS.getInstanceIdIgnoreException());
+    }
+
+    @Test
+    @DisplayName("Detection returns the provider that answers with an instance id without waiting for the slow ones")
+    void detect() {
+        CloudProvider.Azure.overrideUrl(server.url("/slow"));
+        CloudProvider.AWS.overrideUrl(server.url("/empty"));
+        CloudProvider.Oracle.overrideUrl(server.url("/id"));
+        final var start = System.nanoTime();
+        Assertions.assertEquals(Optional.of(CloudProvider.Oracle), CloudProvider.detect());
+        Assertions.assertTrue(System.nanoTime() - start < Duration.ofMillis(2500).toNanos(),
+                "detection waited for the slow endpoint");
+    }
+
+    @Test
+    @DisplayName("Detection returns empty when no provider answers with an instance id")
+    void detectNone() {
+        CloudProvider.setTimeouts(Duration.ofSeconds(1), Duration.ofMillis(300));
+        CloudProvider.Azure.overrideUrl(server.url("/slow"));
+        CloudProvider.AWS.overrideUrl(server.url("/empty"));
+        Assertions.assertEquals(Optional.empty(), CloudProvider.detect());
+    }
+
+    @Test
+    @DisplayName("The proprietary provider is detected only when its url is set")
+    void detectProprietary() {
+        Assertions.assertEquals(Optional.empty(), CloudProvider.detect());
+        CloudProvider.setInstanceIdUrl(server.url("/id"));
+        Assertions.assertEquals(Optional.of(CloudProvider.Proprietary), CloudProvider.detect());
+    }
+
+    @Test
+    @DisplayName("The providers are identified from the DMI information")
+    void detectLocal() throws IOException {
+        Assertions.assertEquals(Optional.empty(), CloudProvider.detectLocal());
+        dmi("sys_vendor", "Microsoft Corporation");
+        dmi("product_name", "Virtual Machine");
+        Assertions.assertEquals(Optional.empty(), CloudProvider.detectLocal(), "Hyper-V is not Azure");
+        dmi("chassis_asset_tag", "7783-7084-3265-9085-8269-3286-77");
+        Assertions.assertEquals(Optional.of(CloudProvider.Azure), CloudProvider.detectLocal());
+        dmi("sys_vendor", "Google");
+        dmi("product_name", "Google Compute Engine");
+        Assertions.assertEquals(Optional.of(CloudProvider.Google), CloudProvider.detectLocal());
+        dmi("sys_vendor", "QEMU");
+        dmi("product_name", "Standard PC (i440FX + PIIX, 1996)");
+        dmi("chassis_asset_tag", "OracleCloud.com");
+        Assertions.assertEquals(Optional.of(CloudProvider.Oracle), CloudProvider.detectLocal());
+        Files.delete(dmi.resolve("chassis_asset_tag"));
+        Assertions.assertEquals(Optional.empty(), CloudProvider.detectLocal());
+        dmi("sys_vendor", "DigitalOcean");
+        Assertions.assertEquals(Optional.of(CloudProvider.DigitalOcean), CloudProvider.detectLocal());
+        dmi("sys_vendor", "Alibaba Cloud");
+        Assertions.assertEquals(Optional.of(CloudProvider.AliBaba), CloudProvider.detectLocal());
+    }
+
+    @Test
+    @DisplayName("A missing DMI directory identifies no provider")
+    void missingDmiDirectory() {
+        CloudProvider.setDmiDirectory(dmi.resolve("no-such-directory"));
+        Assertions.assertEquals(Optional.empty(), CloudProvider.detectLocal());
+    }
+
+    @Test
+    @DisplayName("The AWS instance id is read from the board asset tag and the detection makes no network call")
+    void awsNitro() throws IOException {
+        CloudProvider.AWS.overrideUrl(server.url("/id"));
+        CloudProvider.Oracle.overrideUrl(server.url("/other"));
+        dmi("sys_vendor", "Amazon EC2");
+        dmi("board_asset_tag", "i-0fedcba9876543210");
+        Assertions.assertEquals("i-0fedcba9876543210", CloudProvider.AWS.getInstanceId());
+        Assertions.assertNull(server.lastHeader("metadata"), "the metadata endpoint was queried");
+        Assertions.assertEquals(Optional.of(CloudProvider.AWS), CloudProvider.detect());
+        Assertions.assertNull(server.lastHeader("host"), "the metadata endpoints were queried");
+        Assertions.assertEquals("other-id", CloudProvider.Oracle.getInstanceId());
+    }
+
+    @Test
+    @DisplayName("Without an instance id in the board asset tag the AWS endpoint is queried")
+    void awsXen() throws IOException {
+        CloudProvider.AWS.overrideUrl(server.url("/id"));
+        dmi("sys_vendor", "Amazon EC2");
+        dmi("board_asset_tag", "");
+        Assertions.assertEquals("i-0123456789", CloudProvider.AWS.getInstanceId());
+        dmi("sys_vendor", "Xen");
+        dmi("board_asset_tag", "i-0fedcba9876543210");
+        Assertions.assertEquals("i-0123456789", CloudProvider.AWS.getInstanceId());
+    }
+}
@@ -6,8 +6,15 @@ import org.mockito.Mockito;
 
 import java.lang.reflect.InvocationTargetException;
 import java.net.NetworkInterface;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.PatternSyntaxException;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestInterfaceSelector {
@@ -75,6 +82,55 @@ public class TestInterfaceSelector {
         test("allowed").allowed("allowed").denied("denied", "denied2").isUsable();
     }
 
+    @Test
+    @DisplayName("The regular expression has to match the whole display name of the interface")
+    public void wholeNameMatches() throws InvocationTargetException, InstantiationException, IllegalAccessException, NoSuchFieldException, NoSuchMethodException {
+        test("eth0").allowed("eth").isDenied();
+        test("eth0").allowed("eth.*").isUsable();
+        test("veth1a2b3c").allowed(".*").denied("veth.*").isDenied();
+    }
+
+    @Test
+    @DisplayName("An invalid regular expression is rejected when it is added")
+    public void invalidRegexIsRejected() {
+        final var sut = newSut();
+        assertThrows(PatternSyntaxException.class, () -> sut.interfaceAllowed("eth["));
+        assertThrows(PatternSyntaxException.class, () -> sut.interfaceDenied("(veth"));
+        assertTrue(sut.usable(mockInterface("eth[")));
+    }
+
+    @Test
+    @DisplayName("The selector can be used from several threads")
+    public void concurrentSelection() throws Exception {
+        final var sut = newSut();
+        sut.interfaceDenied("veth.*");
+        sut.interfaceDenied("docker[0-9]+");
+        final var interfaces = new Network.NetworkInterface[200];
+        for (int i = 0; i < interfaces.length; i++) {
+            interfaces[i] = mockInterface(i % 2 == 0 ? "veth" + i : "eth" + i);
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final var results = new ArrayList<Future<Integer>>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    var usable = 0;
+                    for (final var ni : interfaces) {
+                        if (sut.usable(ni)) {
+                            usable++;
+                        }
+                    }
+                    return usable;
+                }));
+            }
+            for (final var result : results) {
+                assertEquals(100, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private static class IfTest {
         Network.NetworkInterface ni;
         Network.Interface.Selector sut;
@@ -0,0 +1,71 @@
+package javax0.license3j.hardware;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class TestUUIDCalculator {
+    private static final boolean[] falseTrue = new boolean[]{false, true};
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private StubHttpServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = new StubHttpServer()
+                .respond("/id", 200, "i-0123456789", 0)
+                .respond("/slow", 200, "i-0123456789", 2000);
+    }
+
+    @AfterEach
+    void stopServer() throws Exception {
+        server.close();
+        CloudProvider.setInstanceIdUrl(null);
+    }
+
+    @Test
+    @DisplayName("The asynchronous machine id is the same as the synchronous one for all the combinations")
+    void asyncIsTheSameAsSync() throws Exception {
+        CloudProvider.setInstanceIdUrl(server.url("/id"));
+        final var sut = new UUIDCalculator(new Network.Interface.Selector());
+        for (final var cloudProvider : new CloudProvider[]{null, CloudProvider.Proprietary}) {
+            for (final boolean useNetwork : falseTrue) {
+                for (final boolean useHostName : falseTrue) {
+                    for (final boolean useArchitecture : falseTrue) {
+                        final var expected = sut.getMachineId(cloudProvider, useNetwork, useHostName, useArchitecture);
+                        final var actual = sut.getMachineIdAsync(cloudProvider, useNetwork, useHostName,
+                                useArchitecture, TIMEOUT).get(30, TimeUnit.SECONDS);
+                        Assertions.assertEquals(expected, actual);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A component that is not available in time fails the asynchronous calculation with timeout")
+    void slowComponentTimesOut() {
+        CloudProvider.setInstanceIdUrl(server.url("/slow"));
+        final var sut = new UUIDCalculator(new Network.Interface.Selector());
+        final var future = sut.getMachineIdAsync(CloudProvider.Proprietary, true, false, true, Duration.ofMillis(100));
+        final var e = Assertions.assertThrows(ExecutionException.class, () -> future.get(30, TimeUnit.SECONDS));
+        Assertions.assertTrue(e.getCause() instanceof TimeoutException);
+    }
+
+    @Test
+    @DisplayName("An exception collecting a component fails the asynchronous calculation")
+    void failingComponent() {
+        CloudProvider.setInstanceIdUrl(null);
+        final var sut = new UUIDCalculator(new Network.Interface.Selector());
+        final var future = sut.getMachineIdAsync(CloudProvider.Proprietary, false, false, true, TIMEOUT);
+        final var e = Assertions.assertThrows(ExecutionException.class, () -> future.get(30, TimeUnit.SECONDS));
+        Assertions.assertTrue(e.getCause() instanceof NullPointerException, e.getCause().toString());
+    }
+}
@@ -0,0 +1,79 @@
+package javax0.license3j.io;
+
+import javax0.license3j.Feature;
+import javax0.license3j.License;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.util.Date;
+import java.util.UUID;
+
+public class TestLicenseSerializer {
+
+    private static License sample(int i) {
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("owner", "Peter Verhas " + i));
+        license.add(Feature.Create.intFeature("maxUsers", i));
+        license.add(Feature.Create.dateFeature("expiry", new Date(1545047719295L)));
+        license.add(Feature.Create.uuidFeature("id", new UUID(i, i)));
+        license.add(Feature.Create.bigDecimalFeature("price", new BigDecimal("12.50")));
+        license.add(Feature.Create.binaryFeature("payload", new byte[i * 1000]));
+        return license;
+    }
+
+    @Test
+    @DisplayName("The serialized size is the length of the serialized array")
+    void sizeIsExact() {
+        final var license = sample(3);
+        Assertions.assertEquals(license.serialized().length, license.serializedSize());
+    }
+
+    @Test
+    @DisplayName("Serializing into a buffer gives the same bytes as serialized(), independent of the byte order")
+    void serializeIntoBuffer() {
+        final var license = sample(3);
+        for (final var order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final var buffer = ByteBuffer.allocateDirect(license.serializedSize() + 10).order(order);
+            buffer.position(10);
+            license.serialize(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            final var bytes = new byte[license.serializedSize()];
+            buffer.position(10);
+            buffer.get(bytes);
+            Assertions.assertArrayEquals(license.serialized(), bytes);
+        }
+    }
+
+    @Test
+    @DisplayName("Nothing is written into a buffer that is too small")
+    void bufferTooSmall() {
+        final var license = sample(3);
+        final var buffer = ByteBuffer.allocate(license.serializedSize() - 1);
+        Assertions.assertThrows(BufferOverflowException.class, () -> license.serialize(buffer));
+        Assertions.assertEquals(0, buffer.position());
+    }
+
+    @Test
+    @DisplayName("Many licenses written to a stream and to a channel with one serializer can be read back")
+    void writeManyLicenses() throws IOException {
+        final var sut = new LicenseSerializer();
+        for (int i = 0; i < 10; i++) {
+            final var license = sample(i);
+            final var os = new ByteArrayOutputStream();
+            sut.write(license, os);
+            Assertions.assertArrayEquals(license.serialized(), os.toByteArray());
+            final var cos = new ByteArrayOutputStream();
+            sut.write(license, Channels.newChannel(cos));
+            Assertions.assertArrayEquals(license.serialized(), cos.toByteArray());
+            Assertions.assertEquals(license.toString(), License.Create.from(os.toByteArray()).toString());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package javax0.license3j.jfr;
+
+import javax0.license3j.Feature;
+import javax0.license3j.HardwareBinder;
+import javax0.license3j.License;
+import javax0.license3j.RevocableLicense;
+import javax0.license3j.crypto.LicenseKeyPair;
+import javax0.license3j.hardware.CloudProvider;
+import javax0.license3j.io.IOFormat;
+import javax0.license3j.io.LicenseReader;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class TestJfrEvents {
+    private static final String[] NAMES = {"javax0.license3j.Verification", "javax0.license3j.Decode",
+            "javax0.license3j.MachineId", "javax0.license3j.CloudMetadata", "javax0.license3j.RevocationCheck"};
+
+    private static License signedLicense(LicenseKeyPair keys) throws Exception {
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("owner", "me"));
+        license.sign(keys.getPair().getPrivate(), "SHA-512");
+        return license;
+    }
+
+    private static void exercise(LicenseKeyPair keys) throws Exception {
+        final var license = signedLicense(keys);
+        Assertions.assertTrue(license.isOK(keys.getPair().getPublic()));
+        final var tampered = License.Create.from(license.serialized());
+        tampered.add(Feature.Create.stringFeature("owner", "you"));
+        Assertions.assertFalse(tampered.isOK(keys.getPair().getPublic()));
+        new LicenseReader(new ByteArrayInputStream(license.serialized())).read(IOFormat.BINARY);
+        new HardwareBinder().getMachineId();
+        CloudProvider.setInstanceIdUrl("http://127.0.0.1:1/");
+        Assertions.assertNull(CloudProvider.Proprietary.getInstanceIdIgnoreException());
+        final var revocable = new RevocableLicense(license);
+        revocable.setRevocationURL("http://127.0.0.1:1/${licenseId}");
+        Assertions.assertFalse(revocable.isRevoked(false));
+    }
+
+    private static List<RecordedEvent> record(boolean enable) throws Exception {
+        final var keys = LicenseKeyPair.Create.from("RSA", 1024);
+        final var file = Files.createTempFile("license3j", ".jfr");
+        try (final var recording = new Recording()) {
+            if (enable) {
+                for (final var name : NAMES) {
+                    recording.enable(name);
+                }
+            }
+            recording.start();
+            exercise(keys);
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().startsWith("javax0.license3j."))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent event(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("There is no " + name + " event"));
+    }
+
+    @Test
+    @DisplayName("The events are disabled by default")
+    void disabledByDefault() throws Exception {
+        Assertions.assertEquals(List.of(), record(false));
+    }
+
+    @Test
+    @DisplayName("The enabled events carry the details of the operations")
+    void enabled() throws Exception {
+        final var events = record(true);
+
+        final var verification = event(events, "javax0.license3j.Verification");
+        Assertions.assertEquals("RSA", verification.getString("algorithm"));
+        Assertions.assertEquals(3, verification.getInt("featureCount"));
+        Assertions.assertTrue(verification.getInt("byteSize") > 0);
+        Assertions.assertEquals("OK", verification.getString("outcome"));
+        Assertions.assertTrue(events.stream()
+                .filter(e -> e.getEventType().getName().equals("javax0.license3j.Verification"))
+                .anyMatch(e -> "BAD_SIGNATURE".equals(e.getString("outcome"))));
+
+        final var decode = event(events, "javax0.license3j.Decode");
+        Assertions.assertEquals("BINARY", decode.getString("format"));
+        Assertions.assertEquals(3, decode.getInt("featureCount"));
+        Assertions.assertEquals(verification.getInt("byteSize"), decode.getInt("byteSize"));
+        Assertions.assertEquals("OK", decode.getString("outcome"));
+
+        final var machineId = event(events, "javax0.license3j.MachineId");
+        Assertions.assertEquals("network,hostName,architecture", machineId.getString("components"));
+        Assertions.assertEquals("MD5", machineId.getString("algorithm"));
+        Assertions.assertEquals("OK", machineId.getString("outcome"));
+
+        final var cloud = event(events, "javax0.license3j.CloudMetadata");
+        Assertions.assertEquals("http://127.0.0.1:1/", cloud.getString("url"));
+        Assertions.assertEquals("ConnectException", cloud.getString("outcome"));
+
+        final var revocation = event(events, "javax0.license3j.RevocationCheck");
+        Assertions.assertTrue(revocation.getString("url").startsWith("http://127.0.0.1:1/"));
+        Assertions.assertEquals("ConnectException", revocation.getString("outcome"));
+    }
+}
@@ -0,0 +1,73 @@
+package javax0.license3j.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestHistogram {
+
+    @Test
+    @DisplayName("Values are counted in the first bucket whose upper bound is not smaller")
+    void buckets() {
+        Assertions.assertEquals(0, Histogram.bucketOf(0));
+        Assertions.assertEquals(0, Histogram.bucketOf(1024));
+        Assertions.assertEquals(1, Histogram.bucketOf(1025));
+        Assertions.assertEquals(1, Histogram.bucketOf(2048));
+        Assertions.assertEquals(2, Histogram.bucketOf(2049));
+        Assertions.assertEquals(Histogram.BUCKETS - 2, Histogram.bucketOf(1L << 36));
+        Assertions.assertEquals(Histogram.BUCKETS - 1, Histogram.bucketOf((1L << 36) + 1));
+        Assertions.assertEquals(Histogram.BUCKETS - 1, Histogram.bucketOf(Long.MAX_VALUE));
+        for (int i = 0; i < Histogram.BUCKETS - 1; i++) {
+            Assertions.assertEquals(i, Histogram.bucketOf(Histogram.upperBound(i)));
+        }
+        Assertions.assertEquals(Long.MAX_VALUE, Histogram.upperBound(Histogram.BUCKETS - 1));
+    }
+
+    @Test
+    @DisplayName("Count, sum, max and percentiles are calculated from the recorded values")
+    void statistics() {
+        final var sut = new Histogram();
+        Assertions.assertEquals(0, sut.percentile(50));
+        for (int i = 1; i <= 100; i++) {
+            sut.record(i * 1000L);
+        }
+        sut.record(-5);
+        Assertions.assertEquals(101, sut.count());
+        Assertions.assertEquals(5050_000L, sut.sum());
+        Assertions.assertEquals(100_000L, sut.max());
+        Assertions.assertEquals(65536, sut.percentile(50));
+        Assertions.assertEquals(100_000L, sut.percentile(100));
+        Assertions.assertEquals(1024, sut.percentile(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sut.percentile(101));
+    }
+
+    @Test
+    @DisplayName("Concurrent recording does not lose values")
+    void concurrent() throws Exception {
+        final var sut = new Histogram();
+        final var executor = Executors.newFixedThreadPool(4);
+        try {
+            final var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        sut.record(i);
+                    }
+                }));
+            }
+            for (final var future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(40_000, sut.count());
+        Assertions.assertEquals(4 * (9_999L * 10_000 / 2), sut.sum());
+        Assertions.assertEquals(9_999, sut.max());
+    }
+}
@@ -0,0 +1,106 @@
+package javax0.license3j.metrics;
+
+import javax0.license3j.Feature;
+import javax0.license3j.HardwareBinder;
+import javax0.license3j.License;
+import javax0.license3j.RevocableLicense;
+import javax0.license3j.crypto.LicenseKeyPair;
+import javax0.license3j.hardware.CloudProvider;
+import javax0.license3j.io.IOFormat;
+import javax0.license3j.io.LicenseReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+public class TestMetrics {
+    private HistogramMetrics metrics;
+
+    @BeforeEach
+    void install() {
+        metrics = new HistogramMetrics();
+        Metrics.install(metrics);
+    }
+
+    @AfterEach
+    void uninstall() {
+        Metrics.install(null);
+    }
+
+    @Test
+    @DisplayName("The default metrics do nothing and installing null restores the default")
+    void noop() {
+        Metrics.install(null);
+        Assertions.assertSame(Metrics.NOOP, Metrics.current());
+        Assertions.assertEquals(0, Metrics.NOOP.start());
+    }
+
+    @Test
+    @DisplayName("Signing and verification are timed and the failed verifications are counted by reason")
+    void signAndVerify() throws Exception {
+        final var keys = LicenseKeyPair.Create.from("RSA", 1024);
+        final var otherKeys = LicenseKeyPair.Create.from("RSA", 1024);
+        final var license = new License();
+        license.add(Feature.Create.stringFeature("owner", "me"));
+        Assertions.assertFalse(license.isOK(keys.getPair().getPublic()));
+        license.sign(keys.getPair().getPrivate(), "SHA-512");
+        Assertions.assertTrue(license.isOK(keys.getPair().getPublic()));
+        Assertions.assertFalse(license.isOK(otherKeys.getPair().getPublic()));
+        Assertions.assertFalse(license.isOK(new byte[]{1, 2, 3}));
+        Assertions.assertThrows(Exception.class, () -> license.sign(keys.getPair().getPrivate(), "NO-SUCH-DIGEST"));
+
+        Assertions.assertEquals(2, metrics.histogram(Operation.SIGN).count());
+        Assertions.assertEquals(3, metrics.histogram(Operation.VERIFY).count());
+        Assertions.assertEquals(Map.of("UNKNOWN_KEY", 1L, "INVALID_KEY", 1L, "MISSING_SIGNATURE", 1L),
+                metrics.failures(Operation.VERIFY));
+        Assertions.assertEquals(Map.of("NoSuchAlgorithmException", 1L), metrics.failures(Operation.SIGN));
+    }
+
+    @Test
+    @DisplayName("Reading, machine id, cloud instance id and revocation check are timed")
+    void otherOperations() throws Exception {
+        final var text = "a=b\n";
+        new LicenseReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))).read(IOFormat.STRING);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new LicenseReader(new ByteArrayInputStream(new byte[]{1})).read(IOFormat.BINARY));
+        new HardwareBinder().getMachineId();
+        CloudProvider.setInstanceIdUrl("http://127.0.0.1:1/");
+        Assertions.assertNull(CloudProvider.Proprietary.getInstanceIdIgnoreException());
+        final var revocable = new RevocableLicense(new License());
+        revocable.setRevocationURL("http://127.0.0.1:1/${licenseId}");
+        Assertions.assertTrue(revocable.isRevoked(true));
+
+        Assertions.assertEquals(2, metrics.histogram(Operation.READ).count());
+        Assertions.assertEquals(Map.of("IllegalArgumentException", 1L), metrics.failures(Operation.READ));
+        Assertions.assertEquals(1, metrics.histogram(Operation.MACHINE_ID).count());
+        Assertions.assertEquals(1, metrics.histogram(Operation.CLOUD_INSTANCE_ID).count());
+        Assertions.assertEquals(1, metrics.failures(Operation.CLOUD_INSTANCE_ID).size());
+        Assertions.assertEquals(1, metrics.histogram(Operation.REVOCATION_CHECK).count());
+        Assertions.assertEquals(Map.of("ConnectException", 1L), metrics.failures(Operation.REVOCATION_CHECK));
+    }
+
+    @Test
+    @DisplayName("The text exposition lists cumulative buckets, sums, counts and failures")
+    void textExposition() {
+        metrics.record(Operation.VERIFY, 1000);
+        metrics.record(Operation.VERIFY, 3000);
+        metrics.failure(Operation.VERIFY, "BAD_SIGNATURE");
+        metrics.failure(Operation.READ, "with \"quote\"");
+        final var text = TextExposition.format(metrics);
+        Assertions.assertTrue(text.startsWith("# TYPE license3j_operation_seconds histogram\n"));
+        Assertions.assertTrue(text.contains("license3j_operation_seconds_bucket{operation=\"verify\",le=\"1.024E-6\"} 1\n"));
+        Assertions.assertTrue(text.contains("license3j_operation_seconds_bucket{operation=\"verify\",le=\"2.048E-6\"} 1\n"));
+        Assertions.assertTrue(text.contains("license3j_operation_seconds_bucket{operation=\"verify\",le=\"4.096E-6\"} 2\n"));
+        Assertions.assertTrue(text.contains("license3j_operation_seconds_bucket{operation=\"verify\",le=\"+Inf\"} 2\n"));
+        Assertions.assertTrue(text.contains("license3j_operation_seconds_sum{operation=\"verify\"} 4.0E-6\n"));
+        Assertions.assertTrue(text.contains("license3j_operation_seconds_count{operation=\"verify\"} 2\n"));
+        Assertions.assertTrue(text.contains("license3j_operation_seconds_count{operation=\"machine_id\"} 0\n"));
+        Assertions.assertTrue(text.contains("license3j_failures_total{operation=\"verify\",reason=\"BAD_SIGNATURE\"} 1\n"));
+        Assertions.assertTrue(text.contains("license3j_failures_total{operation=\"read\",reason=\"with \\\"quote\\\"\"} 1\n"));
+    }
+}